@@ -0,0 +1,95 @@
+package com.example.exercicio.benchmark;
+
+import com.example.exercicio.config.JsonConfig;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.DocumentDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and size of a client list page. omitEmpty is clients.json.omit-empty, includeDocuments
+ * is the include=documents toggle; the jsonBytes and gzipBytes counters are the body size before and after
+ * response compression.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientJsonBenchmark {
+
+    @Param({"50", "500"})
+    private int clientCount;
+
+    @Param({"0", "3"})
+    private int documentsPerClient;
+
+    @Param({"false", "true"})
+    private boolean omitEmpty;
+
+    @Param({"true", "false"})
+    private boolean includeDocuments;
+
+    private ObjectMapper mapper;
+    private List<ClientDTO> clients;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long jsonBytes;
+        public long gzipBytes;
+    }
+
+    @Setup
+    public void setup() {
+        // same settings as the Spring Boot auto-configured mapper
+        mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (omitEmpty) {
+            JsonConfig.omitEmptyClientFields(mapper);
+        }
+
+        clients = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++) {
+            List<DocumentDTO> documents = new ArrayList<>();
+            for (int d = 0; d < documentsPerClient; d++) {
+                // descriptions are optional and often missing
+                documents.add(new DocumentDTO((long) d, "passport", "P" + i + "-" + d, d == 0 ? "Valid passport" : null, LocalDate.now().plusYears(5)));
+            }
+            // a client list view without include=documents gets no documents at all
+            clients.add(new ClientDTO((long) i, "John", "Doe", "TAX" + i, "john" + i + "@email.com", i % 2 == 0 ? "+1234567890" : null,
+                    includeDocuments ? documents : null));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeClientList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(clients);
+    }
+
+    // serialization plus the gzip work Tomcat does for a compressed response
+    @Benchmark
+    public byte[] serializeAndGzipClientList(WireSize size) throws IOException {
+        byte[] json = mapper.writeValueAsBytes(clients);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        size.jsonBytes = json.length;
+        size.gzipBytes = compressed.size();
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.exercicio.benchmark;
+
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.DocumentDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping through the public ClientService API: findById maps an entity to a DTO, saveClient maps a DTO
+ * to an entity and back. The service runs without its Spring proxies and with an in-memory repository stub
+ * (a JDK proxy rather than a Mockito mock, whose per-call bookkeeping would outweigh the mapping), so the
+ * measurement is the service code around the repository call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientMappingBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int documentCount;
+
+    private ClientService clientService;
+    private ClientDTO dto;
+
+    @Setup
+    public void setup() {
+        Client entity = new Client("John", "Doe", "123456789", "john.doe@email.com", "+1234567890");
+        entity.setId(1L);
+        List<DocumentDTO> documents = new ArrayList<>();
+        for (int i = 0; i < documentCount; i++) {
+            Document document = new Document("passport", "P" + i, "Valid passport", LocalDate.now().plusYears(5), entity);
+            document.setId((long) i);
+            entity.getDocuments().add(document);
+            documents.add(new DocumentDTO(null, "passport", "P" + i, "Valid passport", LocalDate.now().plusYears(5)));
+        }
+        dto = new ClientDTO(null, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890", documents);
+
+        clientService = new ClientService(repository(entity), null, null, null,
+                new ClientMetrics(new SimpleMeterRegistry()), event -> {
+        });
+    }
+
+    // findById returns the prepared entity, saveAndFlush returns the entity it is given
+    private static ClientRepository repository(Client stored) {
+        return (ClientRepository) Proxy.newProxyInstance(ClientRepository.class.getClassLoader(), new Class<?>[]{ClientRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(stored);
+                    case "saveAndFlush" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public ClientDTO entityToDto() {
+        return clientService.findById(1L);
+    }
+
+    @Benchmark
+    public ClientDTO dtoToEntityAndBack() {
+        return clientService.saveClient(dto);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.exercicio.benchmark;
+
+import com.example.exercicio.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    // tokens seen for the first time: each call hashes the token, misses the cache, then parses and verifies it
+    @State(Scope.Thread)
+    public static class ColdTokens {
+
+        private JwtUtil jwtUtil;
+        private String[] tokens;
+        private int next;
+
+        @Setup
+        public void setup() {
+            // a cache of size 0 keeps nothing, and cycling through distinct tokens rules out a hit before eviction
+            jwtUtil = new JwtUtil("benchmarkSecret", 3600000, 0);
+            tokens = new String[1024];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = jwtUtil.generateToken("user" + i, AuthorityUtils.createAuthorityList("ROLE_USER"));
+            }
+        }
+
+        String nextToken() {
+            String token = tokens[next];
+            next = (next + 1) & (tokens.length - 1);
+            return token;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil("benchmarkSecret", 3600000, 10000);
+        token = jwtUtil.generateToken("user", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    // repeated token: served from the verified-token cache
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    // full parse and signature check on every call
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtUtil.getUsernameFromToken(token);
+    }
+
+    // repeated token, like validateToken
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCold(ColdTokens cold) {
+        return cold.jwtUtil.validateToken(cold.nextToken());
+    }
+
+    @Benchmark
+    public Claims parseClaimsCold(ColdTokens cold) {
+        return cold.jwtUtil.parseClaims(cold.nextToken());
+    }
+}
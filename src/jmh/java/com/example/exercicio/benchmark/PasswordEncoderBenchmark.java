@@ -0,0 +1,37 @@
+package com.example.exercicio.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// cost of one /login password check for each security.password.algorithm / bcrypt-strength setting
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"bcrypt-8", "bcrypt-10", "bcrypt-12", "pbkdf2"})
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = encoder.startsWith("bcrypt-")
+                ? new BCryptPasswordEncoder(Integer.parseInt(encoder.substring("bcrypt-".length())))
+                : Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        hash = passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", hash);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.exercicio.benchmark;
+
+import com.example.exercicio.ExercicioApplication;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.DocumentDTO;
+import com.example.exercicio.service.ClientImportService;
+import com.example.exercicio.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD throughput of the default configuration (in-memory H2, ddl-auto) against the prod profile (file H2, Flyway
+ * schema, fixed Hikari pool, ordered and versioned batching, batch fetching). Both caches are off, so every read
+ * reaches the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PersistenceProfileBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext app;
+    private ClientService clientService;
+    private ClientImportService clientImportService;
+    private Path dataDir;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private final String prefix = UUID.randomUUID().toString();
+        private long next;
+
+        String next() {
+            return prefix + "-" + next++;
+        }
+    }
+
+    private static ClientDTO client(String taxIdentifier) {
+        List<DocumentDTO> documents = new ArrayList<>();
+        documents.add(new DocumentDTO(null, "passport", "P-" + taxIdentifier, "Passport", LocalDate.now().plusYears(5)));
+        documents.add(new DocumentDTO(null, "id-card", "C-" + taxIdentifier, "Id card", LocalDate.now().plusYears(2)));
+        return new ClientDTO(null, "Bench", "Mark", taxIdentifier, "bench@email.com", "+351900000000", documents);
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        dataDir = Files.createTempDirectory("exercicio-bench");
+        app = SpringApplication.run(ExercicioApplication.class, "--server.port=0", "--logging.level.root=WARN",
+                "--spring.profiles.active=" + profile, "--DATA_DIR=" + dataDir,
+                "--clients.cache.spec=maximumSize=0", "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false", "--rate-limit.enabled=false");
+        clientService = app.getBean(ClientService.class);
+        clientImportService = app.getBean(ClientImportService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    // create, read, update one document and the name, delete: the per-request write paths of the API
+    @Benchmark
+    public ClientDTO crudCycle(Keys keys) {
+        ClientDTO created = clientService.saveClient(client(keys.next()));
+        ClientDTO read = clientService.findById(created.getId());
+        read.setFirstName("Updated");
+        read.getDocuments().get(0).setDescription("Renewed passport");
+        ClientDTO updated = clientService.updateClient(read.getId(), read, read.getVersion());
+        clientService.deleteById(updated.getId(), updated.getVersion());
+        return updated;
+    }
+
+    // one 200-row import chunk: where insert batching and ordering show most
+    @Benchmark
+    public int bulkImport(Keys keys) {
+        List<ClientDTO> clients = new ArrayList<>(200);
+        for (int i = 0; i < 200; i++) {
+            clients.add(client(keys.next()));
+        }
+        return clientImportService.importClients(clients.iterator()).getCreated();
+    }
+
+    @Benchmark
+    public int pageWithDocuments() {
+        return clientService.findPage(null, 50, true).getContent().size();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.exercicio.benchmark;
+
+import com.example.exercicio.ExercicioApplication;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.security.JwtUtil;
+import com.example.exercicio.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the platform and virtual request-thread modes under high concurrency: every invocation sends
+ * {@code concurrency} simultaneous GET /clients requests to an application started in the given mode and waits
+ * for all of them, so requests/s = concurrency x ops/s. Each mode runs in its own fork, with pinned virtual threads
+ * reported on stdout.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@State(Scope.Benchmark)
+public class WebThreadingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"100", "1000"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext app;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setup() {
+        app = SpringApplication.run(ExercicioApplication.class, "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads, "--logging.level.root=WARN",
+                // the bursts come from a single user and exceed both limits on purpose
+                "--rate-limit.enabled=false", "--load-shedding.enabled=false");
+        for (int i = 0; i < 200; i++) {
+            app.getBean(ClientService.class).saveClient(new ClientDTO(null, "Bench" + i, "Mark", "WT-" + i,
+                    "bench" + i + "@email.com", "+351900000000"));
+        }
+        String token = app.getBean(JwtUtil.class).generateToken("user", AuthorityUtils.createAuthorityList("ROLE_USER"));
+        int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().executor(clientExecutor).connectTimeout(Duration.ofSeconds(10)).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/clients?size=50"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.close();
+        app.close();
+    }
+
+    @Benchmark
+    public int concurrentListRequests() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " of " + concurrency + " requests failed");
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.exercicio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENTS_BY_ID = "clientsById";
+    public static final String CLIENTS_BY_TAX_IDENTIFIER = "clientsByTaxIdentifier";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${clients.cache.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CLIENTS_BY_ID, CLIENTS_BY_TAX_IDENTIFIER);
+        caffeineCacheManager.setCacheSpecification(spec);
+        caffeineCacheManager.setAllowNullValues(false);
+        // evictions issued inside a transaction only run after it commits, so readers cannot re-cache the old state
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.exercicio.config;
+
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.DocumentDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class JsonConfig {
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private abstract static class OmitEmpty {
+        // overrides the NON_NULL declared on ClientDTO.documents
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<?> documents;
+    }
+
+    /**
+     * Leaves null fields, empty strings and empty documents arrays out of serialized clients and documents.
+     */
+    public static void omitEmptyClientFields(ObjectMapper mapper) {
+        mapper.addMixIn(ClientDTO.class, OmitEmpty.class);
+        mapper.addMixIn(DocumentDTO.class, OmitEmpty.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "clients.json.omit-empty", havingValue = "true")
+    public Jackson2ObjectMapperBuilderCustomizer omitEmptyClientFieldsCustomizer() {
+        return builder -> builder.postConfigurer(JsonConfig::omitEmptyClientFields);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.exercicio.config;
+
+import org.slf4j.MDC;
+
+/**
+ * Name of the service method the current thread is executing, kept in the logging MDC so the slow query log
+ * (logger org.hibernate.SQL_SLOW) shows which method issued the statement.
+ */
+public final class QueryOrigin {
+
+    public static final String MDC_KEY = "queryOrigin";
+
+    private QueryOrigin() {
+    }
+
+    static boolean isSet() {
+        return MDC.get(MDC_KEY) != null;
+    }
+
+    static void set(String origin) {
+        MDC.put(MDC_KEY, origin);
+    }
+
+    static void clear() {
+        MDC.remove(MDC_KEY);
+    }
+}
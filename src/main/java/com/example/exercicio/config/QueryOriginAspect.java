@@ -0,0 +1,29 @@
+package com.example.exercicio.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class QueryOriginAspect {
+
+    // only the services that run queries through repositories or the EntityManager;
+    // the outermost service call wins, nested service calls keep the origin of their caller
+    @Around("execution(public * *(..)) && (within(com.example.exercicio.service.ClientService)"
+            + " || within(com.example.exercicio.service.ClientImportService)"
+            + " || within(com.example.exercicio.service.DocumentExpiryService)"
+            + " || within(com.example.exercicio.service.ClientChangeFeed))")
+    public Object recordOrigin(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (QueryOrigin.isSet()) {
+            return joinPoint.proceed();
+        }
+        QueryOrigin.set(joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryOrigin.clear();
+        }
+    }
+}
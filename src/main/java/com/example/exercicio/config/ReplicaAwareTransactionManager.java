@@ -0,0 +1,39 @@
+package com.example.exercicio.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-only transactions may be served by a replica that lags behind the primary (see {@link ReplicaRoutingDataSource}).
+ * Their sessions still read the second-level cache but never put into it, so an entry that a write has just evicted
+ * is not filled again with the replica's older copy.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            currentSession().setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // an entity manager opened for the whole request (open in view) outlives the transaction
+        Session session = currentSession();
+        if (session != null && session.isOpen()) {
+            session.setCacheMode(CacheMode.NORMAL);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private Session currentSession() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder != null ? holder.getEntityManager().unwrap(Session.class) : null;
+    }
+}
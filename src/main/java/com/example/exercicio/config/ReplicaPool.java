@@ -0,0 +1,115 @@
+package com.example.exercicio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas with their last measured lag. A replica serves reads only while its copy of the heartbeat row
+ * (see {@link ReplicationLagMonitor}) is at most maxLag behind the primary's; replicas start as stale until
+ * the first check.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    static final String HEARTBEAT_QUERY = "select beat_at from replication_heartbeat where id = 1";
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean fresh;
+        volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaPool(List<HikariDataSource> dataSources, Duration maxLag, MeterRegistry registry) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Heartbeat lag of the replica behind the primary, NaN when it could not be read")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(registry);
+            Gauge.builder("datasource.replica.fresh", replica, r -> r.fresh ? 1 : 0)
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(registry);
+        }
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because no replica was fresh and reachable")
+                .register(registry);
+    }
+
+    // round robin over the fresh replicas, null when none can serve the read
+    Connection getConnection() {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.fresh) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                // stays out of rotation until the next lag check succeeds
+                replica.fresh = false;
+                log.warn("Replica {} is unreachable, excluding it from reads", replica.dataSource.getPoolName(), e);
+            }
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    public void updateLag(Instant primaryBeat) {
+        for (Replica replica : replicas) {
+            boolean fresh = false;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(HEARTBEAT_QUERY)) {
+                Timestamp beat = rs.next() ? rs.getTimestamp(1) : null;
+                if (beat == null) {
+                    replica.lagSeconds = Double.NaN;
+                } else {
+                    Duration lag = Duration.between(beat.toInstant(), primaryBeat);
+                    lag = lag.isNegative() ? Duration.ZERO : lag;
+                    replica.lagSeconds = lag.toMillis() / 1000.0;
+                    fresh = lag.compareTo(maxLag) <= 0;
+                }
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                log.debug("Could not read the heartbeat of replica {}", replica.dataSource.getPoolName(), e);
+            }
+            if (fresh != replica.fresh) {
+                log.info("Replica {} is now {} (lag {} s)", replica.dataSource.getPoolName(), fresh ? "serving reads" : "stale", replica.lagSeconds);
+            }
+            replica.fresh = fresh;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
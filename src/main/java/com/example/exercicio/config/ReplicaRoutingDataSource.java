@@ -0,0 +1,69 @@
+package com.example.exercicio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to a fresh replica and everything else to the primary.
+ * <p>
+ * The physical connection is only fetched at the first statement. By then the transaction manager has marked it
+ * read-only (readOnly = true on {@code @Transactional}), so the choice can be made per transaction, and
+ * {@link #isReplicaTransaction()} tells the code running in it whether a replica was picked.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    // bound for the rest of a transaction whose connection came from a replica
+    private static final Object REPLICA_CONNECTION = new Object();
+
+    private final HikariDataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReplicaPool replicas) {
+        super(primary);
+        this.primary = primary;
+        setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection replica = replicas.getConnection();
+                if (replica == null) {
+                    return primary.getConnection();
+                }
+                markReplicaTransaction();
+                return replica;
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        });
+    }
+
+    // false outside transactions and before the transaction's first statement
+    public static boolean isReplicaTransaction() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_CONNECTION);
+    }
+
+    private static void markReplicaTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isReplicaTransaction()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_CONNECTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_CONNECTION);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+}
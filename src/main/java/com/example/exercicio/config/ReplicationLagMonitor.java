@@ -0,0 +1,39 @@
+package com.example.exercicio.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes a heartbeat row on the primary and compares it with each replica's replicated copy.
+ * This works with any replication mechanism, since the row travels with the rest of the data. The table is part of the
+ * schema (see {@link com.example.exercicio.model.ReplicationHeartbeat}), so replicas have it before the first beat.
+ */
+public class ReplicationLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final ReplicaPool replicaPool;
+    private final Clock clock;
+
+    // dataSource is the routing one: outside a read-only transaction it always hands out primary connections
+    public ReplicationLagMonitor(DataSource dataSource, ReplicaPool replicaPool, Clock clock) {
+        this.primary = new JdbcTemplate(dataSource);
+        this.replicaPool = replicaPool;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.heartbeat-interval-ms:1000}")
+    public void beat() {
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        Timestamp beat = Timestamp.from(now);
+        if (primary.update("update replication_heartbeat set beat_at = ? where id = 1", beat) == 0) {
+            primary.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", beat);
+        }
+        replicaPool.updateLag(now);
+    }
+}
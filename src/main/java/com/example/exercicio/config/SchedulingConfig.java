@@ -0,0 +1,18 @@
+package com.example.exercicio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // dates such as "today" for document expiry are taken in UTC, like the JDBC timestamps
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
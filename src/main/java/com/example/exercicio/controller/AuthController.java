@@ -3,9 +3,12 @@ package com.example.exercicio.controller;
 import com.example.exercicio.dto.AuthRequest;
 import com.example.exercicio.dto.AuthResponse;
 import com.example.exercicio.security.JwtUtil;
+import com.example.exercicio.security.LoginExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,6 +18,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @Tag(name = "Auth", description = "Authentication endpoints (login)")
 @RequiredArgsConstructor
@@ -22,16 +28,27 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final LoginExecutor loginExecutor;
 
     @Operation(summary = "Login and receive a JWT token")
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest request) {
+        // password hashing runs on the login pool, the servlet thread is released while it waits
+        try {
+            return loginExecutor.submit(() -> authenticate(request));
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build());
+        }
+    }
+
+    private ResponseEntity<AuthResponse> authenticate(AuthRequest request) {
         try {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
 
-            String token = jwtUtil.generateToken(request.getUsername());
+            String token = jwtUtil.generateToken(auth.getName(), auth.getAuthorities());
             return ResponseEntity.ok(new AuthResponse(token));
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(401).build();
@@ -0,0 +1,49 @@
+package com.example.exercicio.controller;
+
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.dto.ClientChangePageDTO;
+import com.example.exercicio.service.ClientChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/clients/changes")
+@Tag(name = "Client changes", description = "Incremental feed of client creations, updates and deletions")
+@RequiredArgsConstructor
+public class ClientChangeController {
+
+    public static final String HAS_MORE_HEADER = "X-Has-More";
+
+    private final ClientChangeFeed clientChangeFeed;
+
+    @Value("${clients.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${clients.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Operation(summary = "Get the client changes after a position of the feed, oldest first",
+            description = "Always returns X-Next-Cursor; send it as since on the next call. X-Has-More tells whether to call again right away")
+    @GetMapping
+    public ResponseEntity<List<ClientChangeDTO>> getChanges(@RequestParam(required = false) Long since,
+                                                            @RequestParam(required = false) Integer size) {
+        if (since != null && since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        ClientChangePageDTO page = clientChangeFeed.findChanges(since, pageSize);
+        return ResponseEntity.ok()
+                .header(ClientController.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()))
+                .header(HAS_MORE_HEADER, String.valueOf(page.isHasMore()))
+                .body(page.getChanges());
+    }
+}
@@ -1,18 +1,43 @@
 package com.example.exercicio.controller;
 
+import com.example.exercicio.dto.BulkImportResultDTO;
 import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.ClientDocumentDTO;
+import com.example.exercicio.dto.ClientPageDTO;
+import com.example.exercicio.dto.ClientPatchDTO;
+import com.example.exercicio.dto.ClientSearchCriteria;
+import com.example.exercicio.dto.ClientSearchPageDTO;
+import com.example.exercicio.dto.DocumentDTO;
 import com.example.exercicio.exception.ClientAlreadyExistsException;
 import com.example.exercicio.exception.ClientNotFoundException;
+import com.example.exercicio.exception.ClientVersionMismatchException;
+import com.example.exercicio.exception.DocumentNotFoundException;
+import com.example.exercicio.service.ClientImportService;
 import com.example.exercicio.service.ClientService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/clients")
@@ -20,58 +45,281 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClientController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // each one is backed by a (column, id) index
+    private static final Set<String> SEARCH_SORT_PROPERTIES = Set.of("id", "firstName", "lastName");
+
     private final ClientService clientService;
+    private final ClientImportService clientImportService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${clients.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${clients.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${clients.page.include-documents:true}")
+    private boolean includeDocumentsByDefault = true;
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    // comma separated, "documents" is the only expandable field; without the parameter the configured default applies
+    private boolean includeDocuments(String include) {
+        if (include == null) {
+            return includeDocumentsByDefault;
+        }
+        boolean documents = false;
+        for (String field : include.split(",")) {
+            if (field.trim().equals("documents")) {
+                documents = true;
+            } else if (!field.isBlank()) {
+                throw new IllegalArgumentException("Unsupported include: " + field);
+            }
+        }
+        return documents;
+    }
+
+    // "property" or "property,asc|desc"
+    private static Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        if (parts.length > 2 || !SEARCH_SORT_PROPERTIES.contains(parts[0].trim())) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        return Sort.by(direction, parts[0].trim());
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B withETag(B response, ClientDTO client) {
+        return client.getVersion() == null ? response : response.eTag(ETags.of(client.getVersion()));
+    }
+
+    // a write that loses a race against another one is a failed precondition when the caller sent If-Match
+    private static <T> ResponseEntity<T> versionConflict(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+    }
 
     @Operation(summary = "Create a new client")
     @PostMapping
     public ResponseEntity<ClientDTO> createClient(@RequestBody ClientDTO clientDTO) {
         try {
             ClientDTO saved = clientService.saveClient(clientDTO);
-            return ResponseEntity.created(URI.create("/clients/" + saved.getId())).body(saved);
+            return withETag(ResponseEntity.created(URI.create("/clients/" + saved.getId())), saved).body(saved);
         } catch (ClientAlreadyExistsException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
-    @Operation(summary = "Get all clients")
+    @Operation(summary = "Import clients in bulk from a JSON array or an NDJSON stream")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDTO> importClients(InputStream body) throws IOException {
+        // readValues iterates the elements of a root-level array as well as whitespace separated values
+        try (MappingIterator<ClientDTO> clients = objectMapper.readerFor(ClientDTO.class).readValues(body)) {
+            return ResponseEntity.ok(clientImportService.importClients(clients));
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get a page of clients ordered by id",
+            description = "Send the X-Next-Cursor header of a response as the cursor parameter to get the next page. "
+                    + "include=documents or include= (empty) chooses whether documents are nested in each client")
     @GetMapping
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        List<ClientDTO> clients = clientService.findAll();
-        return ResponseEntity.ok(clients);
+    public ResponseEntity<List<ClientDTO>> getAllClients(@RequestParam(required = false) Long cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         @RequestParam(required = false) String include) {
+        ClientPageDTO page;
+        try {
+            page = clientService.findPage(cursor, pageSize(size), includeDocuments(include));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @Operation(summary = "Search clients by name prefix, email and document type or expiration date",
+            description = "Sort by id, firstName or lastName (optionally followed by ,desc). Send the X-Next-Cursor header of a "
+                    + "response as the cursor parameter, with the same filters and sort, to get the next page")
+    @GetMapping("/search")
+    public ResponseEntity<List<ClientDTO>> searchClients(ClientSearchCriteria criteria,
+                                                         @RequestParam(defaultValue = "id") String sort,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         @RequestParam(required = false) String include) {
+        ClientSearchPageDTO page;
+        try {
+            page = clientService.search(criteria, parseSort(sort), cursor, pageSize(size), includeDocuments(include));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @Operation(summary = "Stream all clients as a single JSON array")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllClients() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                clientService.streamAll(client -> {
+                    try {
+                        generator.writeObject(client);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    @Operation(summary = "Get client by id")
+    @Operation(summary = "Get client by id",
+            description = "Returns 304 when If-None-Match holds the current ETag, checked without loading the client")
     @GetMapping("/{id}")
-    public ResponseEntity<ClientDTO> getClientById(@PathVariable Long id) {
+    public ResponseEntity<ClientDTO> getClientById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            if (ifNoneMatch != null) {
+                Long version = clientService.findVersion(id);
+                if (ETags.noneMatchHit(ifNoneMatch, version)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+                }
+            }
             ClientDTO client = clientService.findById(id);
-            return ResponseEntity.ok(client);
+            return withETag(ResponseEntity.ok(), client).body(client);
         } catch (ClientNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Update an existing client")
+    @Operation(summary = "Get client by tax identifier")
+    @GetMapping("/by-tax-identifier/{taxIdentifier}")
+    public ResponseEntity<ClientDTO> getClientByTaxIdentifier(@PathVariable String taxIdentifier) {
+        try {
+            ClientDTO client = clientService.findByTaxIdentifier(taxIdentifier);
+            return withETag(ResponseEntity.ok(), client).body(client);
+        } catch (ClientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "Update an existing client", description = "Returns 412 when If-Match does not hold the current ETag")
     @PutMapping("/{id}")
-    public ResponseEntity<ClientDTO> updateClient(@PathVariable Long id, @RequestBody ClientDTO clientDTO) {
+    public ResponseEntity<ClientDTO> updateClient(@PathVariable Long id, @RequestBody ClientDTO clientDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            ClientDTO updated = clientService.updateClient(id, clientDTO);
-            return ResponseEntity.ok(updated);
+            ClientDTO updated = clientService.updateClient(id, clientDTO, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
+            return withETag(ResponseEntity.ok(), updated).body(updated);
         } catch (ClientNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (ClientAlreadyExistsException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
+        }
+    }
+
+    @Operation(summary = "Update some fields of an existing client",
+            description = "Fields left out of the body are not changed; documents are managed through /clients/{id}/documents")
+    @PatchMapping("/{id}")
+    public ResponseEntity<ClientDTO> patchClient(@PathVariable Long id, @RequestBody ClientPatchDTO patch,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            ClientDTO updated = clientService.patchClient(id, patch, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
+            return withETag(ResponseEntity.ok(), updated).body(updated);
+        } catch (ClientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ClientAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
+        }
+    }
+
+    // document changes are changes of the client: If-Match and the returned ETag refer to the client's version
+    @Operation(summary = "Add a document to a client",
+            description = "Returns 412 when If-Match does not hold the client's current ETag, and the client's new ETag")
+    @PostMapping("/{id}/documents")
+    public ResponseEntity<DocumentDTO> addDocument(@PathVariable Long id, @RequestBody DocumentDTO documentDTO,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            ClientDocumentDTO saved = clientService.addDocument(id, documentDTO, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
+            return ResponseEntity.created(URI.create("/clients/" + id + "/documents/" + saved.getDocument().getId()))
+                    .eTag(ETags.of(saved.getClientVersion()))
+                    .body(saved.getDocument());
+        } catch (ClientNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
+        }
+    }
+
+    @Operation(summary = "Update a document of a client",
+            description = "Returns 412 when If-Match does not hold the client's current ETag, and the client's new ETag")
+    @PutMapping("/{id}/documents/{documentId}")
+    public ResponseEntity<DocumentDTO> updateDocument(@PathVariable Long id, @PathVariable Long documentId,
+                                                      @RequestBody DocumentDTO documentDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            ClientDocumentDTO updated = clientService.updateDocument(id, documentId, documentDTO, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updated.getClientVersion())).body(updated.getDocument());
+        } catch (DocumentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
+        }
+    }
+
+    @Operation(summary = "Remove a document from a client",
+            description = "Returns 412 when If-Match does not hold the client's current ETag, and the client's new ETag")
+    @DeleteMapping("/{id}/documents/{documentId}")
+    public ResponseEntity<Void> deleteDocument(@PathVariable Long id, @PathVariable Long documentId,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long version = clientService.deleteDocument(id, documentId, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
+            return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+        } catch (DocumentNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
         }
     }
 
-    @Operation(summary = "Delete a client by id")
+    @Operation(summary = "Delete a client by id", description = "Returns 412 when If-Match does not hold the current ETag")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteClient(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            clientService.deleteById(id);
+            clientService.deleteById(id, ifMatch == null ? null : ETags.ifMatchVersion(ifMatch));
             return ResponseEntity.noContent().build();
         } catch (ClientNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (ClientVersionMismatchException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch);
         }
     }
 }
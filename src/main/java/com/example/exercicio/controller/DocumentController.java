@@ -0,0 +1,66 @@
+package com.example.exercicio.controller;
+
+import com.example.exercicio.dto.ExpiringDocumentDTO;
+import com.example.exercicio.dto.ExpiringDocumentPageDTO;
+import com.example.exercicio.dto.ExpiryDigestDTO;
+import com.example.exercicio.service.DocumentExpiryDigestJob;
+import com.example.exercicio.service.DocumentExpiryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/documents")
+@Tag(name = "Documents", description = "Queries over the documents of all clients")
+@RequiredArgsConstructor
+public class DocumentController {
+
+    private final DocumentExpiryService documentExpiryService;
+    private final DocumentExpiryDigestJob documentExpiryDigestJob;
+
+    @Value("${clients.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${clients.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Operation(summary = "Get a page of documents expiring from today within an ISO-8601 period, ordered by expiration date",
+            description = "Send the X-Next-Cursor header of a response as the cursor parameter to get the next page")
+    @GetMapping("/expiring")
+    public ResponseEntity<List<ExpiringDocumentDTO>> getExpiringDocuments(@RequestParam(defaultValue = "P30D") String within,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        ExpiringDocumentPageDTO page;
+        try {
+            Period period = Period.parse(within);
+            if (period.isNegative()) {
+                return ResponseEntity.badRequest().build();
+            }
+            page = documentExpiryService.findExpiring(period, cursor, pageSize);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ClientController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @Operation(summary = "Get the latest daily expiry digest")
+    @GetMapping("/expiring/digest")
+    public ResponseEntity<ExpiryDigestDTO> getExpiryDigest() {
+        return ResponseEntity.of(documentExpiryDigestJob.latest());
+    }
+}
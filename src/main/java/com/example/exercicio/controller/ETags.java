@@ -0,0 +1,50 @@
+package com.example.exercicio.controller;
+
+import java.util.Arrays;
+
+/**
+ * Strong entity tags built from the JPA version of a resource: {@code "<version>"}.
+ */
+final class ETags {
+
+    // JPA versions start at 0
+    private static final Long UNMATCHABLE_VERSION = -1L;
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so {@code W/"3"} matches {@code "3"}.
+     */
+    static boolean noneMatchHit(String ifNoneMatch, Long version) {
+        String etag = of(version);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    /**
+     * Version required by an If-Match header, or null for {@code *} (any current version).
+     * Only a single strong tag names a version; weak, malformed or multiple tags map to a version no client has,
+     * so the precondition fails.
+     */
+    static Long ifMatchVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private List<BulkImportRowDTO> rows = new ArrayList<>();
+
+    public void addRow(BulkImportRowDTO row) {
+        rows.add(row);
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+}
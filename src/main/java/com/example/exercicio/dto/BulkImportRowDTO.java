@@ -0,0 +1,24 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportRowDTO {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    // zero-based position of the row in the request body
+    private int index;
+    private String taxIdentifier;
+    private Status status;
+    private Long id;
+    private String message;
+}
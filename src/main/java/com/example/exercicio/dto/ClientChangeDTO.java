@@ -0,0 +1,24 @@
+package com.example.exercicio.dto;
+
+import com.example.exercicio.service.ClientChangeEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientChangeDTO {
+    // position in the feed, usable as the since parameter
+    private Long id;
+    private ClientChangeEvent.Action action;
+    private Long clientId;
+    private String taxIdentifier;
+    // client version after the change (its ETag), null for deletions
+    private Long version;
+    private Instant occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientChangePageDTO {
+    private List<ClientChangeDTO> changes = new ArrayList<>();
+    // id of the last change returned, or the requested position when there is nothing new; never null
+    private Long nextCursor;
+    // whether more changes are already available after nextCursor
+    private boolean hasMore;
+}
@@ -1,5 +1,7 @@
 package com.example.exercicio.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,5 +21,19 @@ public class ClientDTO {
     private String taxIdentifier;
     private String email;
     private String phoneNumber;
+    // null when the documents were not requested (list endpoints without include=documents)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<DocumentDTO> documents = new ArrayList<>();
+    // sent as the ETag header rather than in the body
+    @JsonIgnore
+    private Long version;
+
+    public ClientDTO(Long id, String firstName, String lastName, String taxIdentifier, String email, String phoneNumber, List<DocumentDTO> documents) {
+        this(id, firstName, lastName, taxIdentifier, email, phoneNumber, documents, null);
+    }
+
+    // used by JPQL constructor expressions, documents are attached afterwards
+    public ClientDTO(Long id, String firstName, String lastName, String taxIdentifier, String email, String phoneNumber) {
+        this(id, firstName, lastName, taxIdentifier, email, phoneNumber, new ArrayList<>());
+    }
 }
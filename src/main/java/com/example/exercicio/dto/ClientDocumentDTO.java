@@ -0,0 +1,16 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientDocumentDTO {
+    private DocumentDTO document;
+    // version of the client after the change, sent back as its ETag
+    private Long clientVersion;
+}
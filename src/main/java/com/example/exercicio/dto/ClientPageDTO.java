@@ -0,0 +1,19 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientPageDTO {
+    private List<ClientDTO> content = new ArrayList<>();
+    // id of the last client in content, null when there are no more pages
+    private Long nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// scalar fields of a client for PATCH, null fields are left unchanged
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientPatchDTO {
+    private String firstName;
+    private String lastName;
+    private String taxIdentifier;
+    private String email;
+    private String phoneNumber;
+}
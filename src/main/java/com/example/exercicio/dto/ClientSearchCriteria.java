@@ -0,0 +1,27 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// filters of GET /clients/search, null fields are not applied
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSearchCriteria {
+    // prefixes, case sensitive so the name indexes can be used
+    private String firstName;
+    private String lastName;
+    private String email;
+    // the document filters apply to the same document: a client matches when one of its documents matches all of them
+    private String documentType;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo;
+}
@@ -0,0 +1,21 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiringDocumentDTO {
+    private Long clientId;
+    private Long id;
+    private String type;
+    private String number;
+    private String description;
+    private LocalDate expirationDate;
+}
@@ -0,0 +1,23 @@
+package com.example.exercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+// documents expiring between date and until (inclusive)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiryDigestDTO {
+    private LocalDate date;
+    private LocalDate until;
+    private long documents;
+    private long clients;
+    private Map<String, Long> documentsByType = new TreeMap<>();
+}
@@ -0,0 +1,7 @@
+package com.example.exercicio.exception;
+
+public class ClientVersionMismatchException extends RuntimeException {
+    public ClientVersionMismatchException(Long id, Long expectedVersion, Long currentVersion) {
+        super("Client with id " + id + " is at version " + currentVersion + ", expected " + expectedVersion);
+    }
+}
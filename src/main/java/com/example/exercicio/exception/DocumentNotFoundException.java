@@ -0,0 +1,7 @@
+package com.example.exercicio.exception;
+
+public class DocumentNotFoundException extends RuntimeException {
+    public DocumentNotFoundException(Long clientId, Long documentId) {
+        super("Document with id " + documentId + " not found for client " + clientId);
+    }
+}
@@ -4,32 +4,58 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
+@Table(name = "clients",
+        uniqueConstraints = @UniqueConstraint(name = Client.TAX_IDENTIFIER_CONSTRAINT, columnNames = "tax_identifier"),
+        // prefix search and keyset scrolling by name: the id column makes each index match the (name, id) sort order
+        indexes = {
+                @Index(name = "idx_clients_last_name_id", columnList = "last_name, id"),
+                @Index(name = "idx_clients_first_name_id", columnList = "first_name, id"),
+                @Index(name = "idx_clients_email", columnList = "email")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 public class Client {
 
+    public static final String TAX_IDENTIFIER_CONSTRAINT = "uk_clients_tax_identifier";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // sequence with a pooled optimizer (unlike IDENTITY) keeps JDBC insert batching enabled
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "first_name")
     private String firstName;
 
+    @Column(name = "last_name")
     private String lastName;
 
+    @Column(name = "tax_identifier")
     private String taxIdentifier;
 
+    @Column(name = "email")
     private String email;
 
     private String phoneNumber;
 
+    // optimistic locking, also exposed as the ETag of the client resource
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients-documents")
     private List<Document> documents = new ArrayList<>();
 
     public Client(String firstName, String lastName, String taxIdentifier, String email, String phoneNumber) {
@@ -0,0 +1,49 @@
+package com.example.exercicio.model;
+
+import com.example.exercicio.service.ClientChangeEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// append-only: rows are inserted by ClientAuditWriter and never updated
+@Entity
+@Table(name = "client_audit_log", indexes = @Index(name = "idx_client_audit_log_client_id", columnList = "client_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClientAuditEntry {
+
+    @Id
+    // ids come from the pooled sequence, so the writer's saveAll of a whole batch is sent as JDBC insert batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_audit_log_seq")
+    @SequenceGenerator(name = "client_audit_log_seq", sequenceName = "client_audit_log_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 16)
+    private ClientChangeEvent.Action action;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "tax_identifier")
+    private String taxIdentifier;
+
+    // username of the caller that made the change, null when it was not made by an authenticated request
+    @Column(name = "principal")
+    private String principal;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public ClientAuditEntry(ClientChangeEvent event) {
+        this.action = event.action();
+        this.clientId = event.clientId();
+        this.taxIdentifier = event.taxIdentifier();
+        this.principal = event.principal();
+        this.occurredAt = event.occurredAt();
+    }
+}
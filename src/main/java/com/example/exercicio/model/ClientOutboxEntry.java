@@ -0,0 +1,53 @@
+package com.example.exercicio.model;
+
+import com.example.exercicio.service.ClientChangeEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// written in the transaction of the change it describes, read by GET /clients/changes in id order;
+// the id is assigned by ClientChangeFeed and entries are never updated, so saving always inserts without a lookup
+@Entity
+@Table(name = "client_outbox", indexes = @Index(name = "idx_client_outbox_occurred_at", columnList = "occurred_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClientOutboxEntry implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 16)
+    private ClientChangeEvent.Action action;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "tax_identifier")
+    private String taxIdentifier;
+
+    @Column(name = "client_version")
+    private Long clientVersion;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public ClientOutboxEntry(long id, ClientChangeEvent event) {
+        this.id = id;
+        this.action = event.action();
+        this.clientId = event.clientId();
+        this.taxIdentifier = event.taxIdentifier();
+        this.clientVersion = event.version();
+        this.occurredAt = event.occurredAt();
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.exercicio.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// single row holding the last outbox id handed out; see ClientChangeFeed for why it is a locked counter
+@Entity
+@Table(name = "client_outbox_position")
+@Getter
+@NoArgsConstructor
+public class ClientOutboxPosition {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+}
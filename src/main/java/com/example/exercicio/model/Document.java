@@ -4,26 +4,39 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "documents")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "documents")
+@Table(name = "documents", indexes = {
+        // also serves the document filters of client searches, which look up documents by client, type and expiration date
+        @Index(name = "idx_documents_client_type_expiration", columnList = "client_id, type, expiration_date"),
+        // expiring-documents pages and the expiry digest scan in (expiration_date, id) order
+        @Index(name = "idx_documents_expiration_date", columnList = "expiration_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // ids are assigned before flush, so with order_inserts the documents cascaded from a chunk of clients share one insert batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "type")
     private String type;
 
     private String number;
 
     private String description;
 
+    @Column(name = "expiration_date")
     private LocalDate expirationDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
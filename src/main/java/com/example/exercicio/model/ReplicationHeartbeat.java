@@ -0,0 +1,24 @@
+package com.example.exercicio.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// single row written by ReplicationLagMonitor with plain JDBC; mapped so the table is part of the schema
+@Entity
+@Table(name = "replication_heartbeat")
+@Getter
+@NoArgsConstructor
+public class ReplicationHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+}
@@ -0,0 +1,9 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.model.ClientAuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientAuditEntryRepository extends JpaRepository<ClientAuditEntry, Long> {
+}
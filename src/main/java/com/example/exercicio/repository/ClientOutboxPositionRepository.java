@@ -0,0 +1,28 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.model.ClientOutboxPosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ClientOutboxPositionRepository extends JpaRepository<ClientOutboxPosition, Integer> {
+
+    // reserves the next count ids; the row lock taken by the update is held until the transaction ends
+    @Modifying
+    @Query("update ClientOutboxPosition p set p.lastId = p.lastId + :count where p.id = " + ClientOutboxPosition.ID)
+    int advance(@Param("count") long count);
+
+    @Query("select p.lastId from ClientOutboxPosition p where p.id = " + ClientOutboxPosition.ID)
+    long current();
+
+    // for schemas generated by ddl-auto; two instances starting together may both try, and the loser gets a key violation
+    @Transactional
+    @Modifying
+    @Query(value = "insert into client_outbox_position (id, last_id) select " + ClientOutboxPosition.ID + ", 0 "
+            + "where not exists (select 1 from client_outbox_position where id = " + ClientOutboxPosition.ID + ")", nativeQuery = true)
+    int insertIfMissing();
+}
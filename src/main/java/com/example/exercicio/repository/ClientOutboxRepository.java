@@ -0,0 +1,26 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.model.ClientOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ClientOutboxRepository extends JpaRepository<ClientOutboxEntry, Long> {
+
+    @Query("select new com.example.exercicio.dto.ClientChangeDTO(e.id, e.action, e.clientId, e.taxIdentifier, e.clientVersion, e.occurredAt) " +
+            "from ClientOutboxEntry e where e.id > :since order by e.id")
+    List<ClientChangeDTO> findChangesAfter(@Param("since") Long since, Limit limit);
+
+    // one bulk statement, entries are never loaded
+    @Modifying
+    @Query("delete from ClientOutboxEntry e where e.occurredAt < :before")
+    int deleteOccurredBefore(@Param("before") Instant before);
+}
@@ -1,13 +1,61 @@
 package com.example.exercicio.repository;
 
+import com.example.exercicio.dto.ClientDTO;
 import com.example.exercicio.model.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "clients-by-tax-identifier")
+    })
     Optional<Client> findByTaxIdentifier(String taxIdentifier);
+
+    // conditional GETs compare this against If-None-Match without loading the client or its documents
+    @Query("select c.version from Client c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select c.taxIdentifier from Client c where c.taxIdentifier in :taxIdentifiers")
+    Set<String> findExistingTaxIdentifiers(@Param("taxIdentifiers") Collection<String> taxIdentifiers);
+
+    @Override
+    @EntityGraph(attributePaths = "documents")
+    Optional<Client> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "documents")
+    List<Client> findAll();
+
+    // keyset pagination over read-only projections: the next page starts right after the last id of the previous one,
+    // and DTOs are built from the result set without managed entities
+    @Query("select new com.example.exercicio.dto.ClientDTO(c.id, c.firstName, c.lastName, c.taxIdentifier, c.email, c.phoneNumber) " +
+            "from Client c where c.id > :cursor order by c.id")
+    List<ClientDTO> findDtoPageAfter(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("select new com.example.exercicio.repository.DocumentRow(d.client.id, d.id, d.type, d.number, d.description, d.expirationDate) " +
+            "from Document d where d.client.id in :clientIds order by d.id")
+    List<DocumentRow> findDocumentRowsByClientIds(@Param("clientIds") Collection<Long> clientIds);
+
+    // the same projection for the stream endpoint; documents are attached per chunk with findDocumentRowsByClientIds
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.exercicio.dto.ClientDTO(c.id, c.firstName, c.lastName, c.taxIdentifier, c.email, c.phoneNumber) " +
+            "from Client c order by c.id")
+    Stream<ClientDTO> streamDtos();
 }
 
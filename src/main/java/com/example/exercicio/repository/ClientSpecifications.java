@@ -0,0 +1,111 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.dto.ClientSearchCriteria;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria for {@link ClientRepository} searches. Each specification returns no predicate when its value is null,
+ * so only the filters present in the request end up in the query.
+ */
+public final class ClientSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ClientSpecifications() {
+    }
+
+    public static Specification<Client> matching(ClientSearchCriteria criteria) {
+        return Specification.allOf(
+                startsWith("firstName", criteria.getFirstName()),
+                startsWith("lastName", criteria.getLastName()),
+                equalTo("email", criteria.getEmail()),
+                hasDocument(criteria.getDocumentType(), criteria.getExpiresFrom(), criteria.getExpiresTo()));
+    }
+
+    static Specification<Client> startsWith(String attribute, String prefix) {
+        return (root, query, cb) -> prefix == null || prefix.isEmpty() ? null
+                : cb.like(root.get(attribute), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    static Specification<Client> equalTo(String attribute, String value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
+    }
+
+    // an EXISTS subquery rather than a join, so a client with several matching documents is returned once
+    static Specification<Client> hasDocument(String type, LocalDate expiresFrom, LocalDate expiresTo) {
+        return (root, query, cb) -> {
+            if (type == null && expiresFrom == null && expiresTo == null) {
+                return null;
+            }
+            Subquery<Long> documents = query.subquery(Long.class);
+            Root<Document> document = documents.from(Document.class);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(document.get("client"), root));
+            if (type != null) {
+                predicates.add(cb.equal(document.get("type"), type));
+            }
+            if (expiresFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(document.get("expirationDate"), expiresFrom));
+            }
+            if (expiresTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(document.get("expirationDate"), expiresTo));
+            }
+            return cb.exists(documents.select(document.get("id")).where(predicates.toArray(Predicate[]::new)));
+        };
+    }
+
+    /**
+     * Keyset scrolling by one attribute with ties broken by id, for the page after the client whose keys are in
+     * {@code after} (null for the first page). Also sets the order of the query: a null name sorts as the smallest
+     * value, NULLS FIRST ascending and NULLS LAST descending, and the keyset predicate follows the same rule, so clients
+     * without a name are neither skipped nor repeated. Plain comparisons with a null key would match no row at all.
+     */
+    public static Specification<Client> scrolledAfter(Sort.Order order, Map<String, Object> after) {
+        return (root, query, cb) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            Path<Long> id = root.get("id");
+            if ("id".equals(order.getProperty())) {
+                query.orderBy(order.isAscending() ? cb.asc(id) : cb.desc(id));
+                if (after == null) {
+                    return null;
+                }
+                Long afterId = (Long) after.get("id");
+                return order.isAscending() ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            }
+
+            Path<String> key = root.get(order.getProperty());
+            query.orderBy(order.isAscending() ? hcb.asc(key, true) : hcb.desc(key, false), cb.asc(id));
+            if (after == null) {
+                return null;
+            }
+            String afterKey = (String) after.get(order.getProperty());
+            Predicate nextWithSameKey = cb.greaterThan(id, (Long) after.get("id"));
+            if (afterKey == null) {
+                Predicate sameKey = cb.and(cb.isNull(key), nextWithSameKey);
+                // ascending, every named client still follows; descending, the null names are the last ones
+                return order.isAscending() ? cb.or(sameKey, cb.isNotNull(key)) : sameKey;
+            }
+            Predicate sameKey = cb.and(cb.equal(key, afterKey), nextWithSameKey);
+            return order.isAscending()
+                    ? cb.or(cb.greaterThan(key, afterKey), sameKey)
+                    : cb.or(cb.lessThan(key, afterKey), sameKey, cb.isNull(key));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
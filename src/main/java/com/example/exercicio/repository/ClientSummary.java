@@ -0,0 +1,23 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.dto.ClientDTO;
+
+// the client columns of a search result, selected without loading Client entities
+public interface ClientSummary {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getTaxIdentifier();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    default ClientDTO toDto() {
+        return new ClientDTO(getId(), getFirstName(), getLastName(), getTaxIdentifier(), getEmail(), getPhoneNumber());
+    }
+}
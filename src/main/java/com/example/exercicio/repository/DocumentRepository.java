@@ -0,0 +1,26 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.model.Document;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+    Optional<Document> findByIdAndClientId(Long id, Long clientId);
+
+    // keyset over (expirationDate, id): the documents expiring up to `until` that come after the given position,
+    // read as flat rows through idx_documents_expiration_date without touching clients
+    @Query("select new com.example.exercicio.repository.DocumentRow(d.client.id, d.id, d.type, d.number, d.description, d.expirationDate) " +
+            "from Document d where d.expirationDate <= :until " +
+            "and (d.expirationDate > :afterDate or (d.expirationDate = :afterDate and d.id > :afterId)) " +
+            "order by d.expirationDate, d.id")
+    List<DocumentRow> findExpiringAfter(@Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                        @Param("until") LocalDate until, Limit limit);
+}
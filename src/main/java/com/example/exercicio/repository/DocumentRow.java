@@ -0,0 +1,13 @@
+package com.example.exercicio.repository;
+
+import com.example.exercicio.dto.DocumentDTO;
+
+import java.time.LocalDate;
+
+// flat document projection carrying the owning client id, built straight from the result set
+public record DocumentRow(Long clientId, Long id, String type, String number, String description, LocalDate expirationDate) {
+
+    public DocumentDTO toDto() {
+        return new DocumentDTO(id, type, number, description, expirationDate);
+    }
+}
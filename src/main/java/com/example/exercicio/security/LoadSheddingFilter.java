@@ -0,0 +1,113 @@
+package com.example.exercicio.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Rejects requests with 503 and Retry-After while the service is saturated. It is saturated when maxInFlight requests are
+ * already being served (kept below the Tomcat thread count) or more than maxPendingConnections threads are waiting
+ * for a pool connection. Shedding early keeps latency bounded for the requests that are admitted, instead of
+ * letting every request queue until the connection timeout. Actuator endpoints are never shed. An async request
+ * (streaming, deferred results) keeps its slot until the async processing completes, not just its first dispatch.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final int maxInFlight;
+    private final int maxPendingConnections;
+    private final IntSupplier pendingConnections;
+    private final String retryAfterSeconds;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shedInFlight;
+    private final Counter shedPendingConnections;
+
+    public LoadSheddingFilter(int maxInFlight, int maxPendingConnections, IntSupplier pendingConnections, long retryAfterSeconds,
+                              MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight;
+        this.maxPendingConnections = maxPendingConnections;
+        this.pendingConnections = pendingConnections;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        Gauge.builder("http.server.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        this.shedInFlight = shedCounter(meterRegistry, "in_flight");
+        this.shedPendingConnections = shedCounter(meterRegistry, "pending_connections");
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("http.server.shed")
+                .description("Requests rejected with 503 by load shedding")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (pendingConnections.getAsInt() > maxPendingConnections) {
+            reject(response, shedPendingConnections);
+            return;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            reject(response, shedInFlight);
+            return;
+        }
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+        } finally {
+            if (asyncStarted) {
+                request.getAsyncContext().addListener(new InFlightReleaser());
+            } else {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    // onComplete also follows a timeout or an error, so the slot is released exactly once
+    private class InFlightReleaser implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a nested startAsync replaces the listeners, so register again for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void reject(HttpServletResponse response, Counter counter) {
+        counter.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+    }
+}
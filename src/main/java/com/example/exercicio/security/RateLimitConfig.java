@@ -0,0 +1,92 @@
+package com.example.exercicio.security;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+@Configuration
+public class RateLimitConfig {
+
+    // buckets live in this instance only; a RateLimiter bean defined elsewhere (e.g. backed by Redis) takes its place
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+    @ConditionalOnMissingBean(RateLimiter.class)
+    public RateLimiter rateLimiter(@Value("${rate-limit.maximum-keys:100000}") long maximumKeys) {
+        return new StripedTokenBucketRateLimiter(maximumKeys, Duration.ofMinutes(10));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public WebMvcConfigurer rateLimitInterceptorConfigurer(ObjectProvider<RateLimiter> rateLimiters, MeterRegistry meterRegistry,
+                                                           @Value("${rate-limit.backend:memory}") String backend,
+                                                           @Value("${rate-limit.capacity:50}") long capacity,
+                                                           @Value("${rate-limit.refill-per-second:20}") double refillPerSecond,
+                                                           @Value("${rate-limit.expensive-endpoints:}") List<String> expensiveEndpoints,
+                                                           @Value("${rate-limit.expensive.capacity:10}") long expensiveCapacity,
+                                                           @Value("${rate-limit.expensive.refill-per-second:2}") double expensiveRefillPerSecond) {
+        RateLimiter rateLimiter = rateLimiters.getIfAvailable(() -> {
+            throw new IllegalStateException("rate-limit.backend is '" + backend + "' but no RateLimiter bean is defined: "
+                    + "add one for that backend, or set rate-limit.backend=memory");
+        });
+        RateLimiter.Limit expensive = new RateLimiter.Limit(expensiveCapacity, expensiveRefillPerSecond);
+        Map<String, RateLimiter.Limit> endpointLimits = new HashMap<>();
+        expensiveEndpoints.forEach(endpoint -> endpointLimits.put(endpoint.trim(), expensive));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, new RateLimiter.Limit(capacity, refillPerSecond),
+                endpointLimits, meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).excludePathPatterns("/actuator/**");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(ObjectProvider<DataSource> dataSource, MeterRegistry meterRegistry,
+                                                                         @Value("${load-shedding.max-in-flight:150}") int maxInFlight,
+                                                                         @Value("${load-shedding.max-pending-connections:20}") int maxPendingConnections,
+                                                                         @Value("${load-shedding.retry-after-seconds:1}") long retryAfterSeconds) {
+        LoadSheddingFilter filter = new LoadSheddingFilter(maxInFlight, maxPendingConnections,
+                pendingConnections(dataSource.getIfAvailable()), retryAfterSeconds, meterRegistry);
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        // after the request observation filter, so shed requests still show up in http.server.requests,
+        // and before security, so they cost no token verification
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    // threads waiting for a connection of the primary pool, 0 when the DataSource is not Hikari
+    private static IntSupplier pendingConnections(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                return () -> {
+                    HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                    return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+                };
+            }
+        } catch (SQLException e) {
+            // not unwrappable: shed on in-flight requests only
+        }
+        return () -> 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.exercicio.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Limits each caller per endpoint: the key is the JWT subject set by {@link JwtAuthenticationFilter} (the client
+ * address before login) plus the method and matched route pattern, so /clients/1 and /clients/2 share a bucket.
+ * Runs after handler mapping and before the controller, so rejected requests never reach the services. The async
+ * re-dispatch of a streaming or deferred response is the same request and is not charged again.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimiter.Limit defaultLimit;
+    private final Map<String, RateLimiter.Limit> endpointLimits;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimiter.Limit defaultLimit, Map<String, RateLimiter.Limit> endpointLimits,
+                                MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.defaultLimit = defaultLimit;
+        this.endpointLimits = endpointLimits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "other");
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(caller(request) + " " + endpoint,
+                endpointLimits.getOrDefault(endpoint, defaultLimit));
+        if (decision.allowed()) {
+            return true;
+        }
+        Counter.builder("http.server.rate.limited")
+                .description("Requests rejected with 429 because the caller's token bucket for the endpoint was empty")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.exercicio.security;
+
+/**
+ * Token buckets by key. With rate-limit.backend=memory (the default) the in-memory {@link StripedTokenBucketRateLimiter}
+ * limits each instance on its own, unless the application defines its own RateLimiter bean. Any other backend value
+ * turns the in-memory limiter off and requires a RateLimiter bean for that backend (e.g. Redis, shared by all
+ * instances); without one, startup fails.
+ */
+public interface RateLimiter {
+
+    // capacity is the burst size, refillPerSecond the sustained rate
+    record Limit(long capacity, double refillPerSecond) {
+    }
+
+    record Decision(boolean allowed, long retryAfterSeconds) {
+
+        public static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    Decision tryAcquire(String key, Limit limit);
+}
@@ -0,0 +1,68 @@
+package com.example.exercicio.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets. Keys are spread over a fixed set of locks, so callers with different keys rarely contend,
+ * and idle buckets are evicted, which bounds memory by the number of active keys.
+ */
+public class StripedTokenBucketRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    private final Cache<String, Bucket> buckets;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final LongSupplier nanoTime;
+
+    public StripedTokenBucketRateLimiter(long maximumKeys, Duration idleExpiry) {
+        this(maximumKeys, idleExpiry, System::nanoTime);
+    }
+
+    public StripedTokenBucketRateLimiter(long maximumKeys, Duration idleExpiry, LongSupplier nanoTime) {
+        // an evicted bucket comes back full, so the expiry must be longer than a bucket takes to refill
+        this.buckets = Caffeine.newBuilder().maximumSize(maximumKeys).expireAfterAccess(idleExpiry).build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, Limit limit) {
+        long now = nanoTime.getAsLong();
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit.capacity(), now));
+        int hash = key.hashCode();
+        ReentrantLock lock = locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        lock.lock();
+        try {
+            long elapsed = now - bucket.refilledAt;
+            if (elapsed > 0) {
+                bucket.tokens = Math.min(limit.capacity(), bucket.tokens + elapsed / 1e9 * limit.refillPerSecond());
+                bucket.refilledAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return Decision.ALLOWED;
+            }
+            long retryAfter = (long) Math.ceil((1 - bucket.tokens) / limit.refillPerSecond());
+            return new Decision(false, Math.max(1, retryAfter));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
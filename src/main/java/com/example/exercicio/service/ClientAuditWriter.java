@@ -0,0 +1,276 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.model.ClientAuditEntry;
+import com.example.exercicio.repository.ClientAuditEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind audit log of client changes. Events are queued after their transaction commits, so the client
+ * write paths only pay for a queue offer, and a single writer thread inserts them into client_audit_log in batches.
+ * <p>
+ * The queue is lock-free and bounded by a counter. When it is full the committing thread waits up to the offer timeout
+ * for the writer to make room. Nothing here throws to the caller, whose transaction has already committed: an event
+ * that still finds no room, arrives after the writer stopped, or belongs to a batch that fails during the shutdown
+ * drain is appended to a local spill file instead, and the spill file is written to the database on the next start.
+ * On shutdown the writer stops after the web server (lower lifecycle phase) and the queue is drained before the
+ * DataSource closes.
+ */
+@Component
+public class ClientAuditWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientAuditWriter.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final long BACKPRESSURE_PARK_NANOS = Duration.ofMillis(1).toNanos();
+
+    private final ClientAuditEntryRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Path spillFile;
+
+    private final Queue<ClientChangeEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    private final Counter overflow;
+    private final Counter spilled;
+    private final Counter written;
+    private final Counter failures;
+    private final Timer batchWrites;
+
+    public ClientAuditWriter(ClientAuditEntryRepository repository, PlatformTransactionManager transactionManager, MeterRegistry registry,
+                             ObjectMapper objectMapper,
+                             @Value("${audit.queue-capacity:10000}") int capacity,
+                             @Value("${audit.batch-size:200}") int batchSize,
+                             @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+                             @Value("${audit.offer-timeout-ms:1000}") long offerTimeoutMs,
+                             @Value("${audit.spill-file:audit-spill.jsonl}") Path spillFile) {
+        this.repository = repository;
+        // batches are written in their own transaction, independent of any caller
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = Duration.ofMillis(flushIntervalMs).toNanos();
+        this.offerTimeoutNanos = Duration.ofMillis(offerTimeoutMs).toNanos();
+        this.spillFile = spillFile;
+
+        Gauge.builder("audit.queue.size", size, AtomicInteger::get)
+                .description("Client change events waiting to be written")
+                .register(registry);
+        Gauge.builder("audit.queue.capacity", () -> capacity).register(registry);
+        this.overflow = Counter.builder("audit.queue.overflow")
+                .description("Events that found the queue full and made the committing thread wait")
+                .register(registry);
+        this.spilled = Counter.builder("audit.events.spilled")
+                .description("Events appended to the spill file instead of the database")
+                .register(registry);
+        this.written = Counter.builder("audit.events.written").register(registry);
+        this.failures = Counter.builder("audit.write.failures").register(registry);
+        this.batchWrites = Timer.builder("audit.write.batch").description("Time to insert one batch of audit rows").register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChange(ClientChangeEvent event) {
+        if (!running) {
+            spill(List.of(event));
+            return;
+        }
+        if (size.incrementAndGet() > capacity && !awaitRoom()) {
+            size.decrementAndGet();
+            spill(List.of(event));
+            return;
+        }
+        queue.offer(event);
+        if (!running) {
+            // stop() may have drained the queue before this offer
+            spillQueued();
+        } else if (size.get() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // backpressure: the caller's own reservation is part of size, so there is room once size is back within capacity
+    private boolean awaitRoom() {
+        overflow.increment();
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (running && size.get() > capacity) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+        }
+        return running;
+    }
+
+    private void drain() {
+        List<ClientChangeEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            ClientChangeEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                batch.add(event);
+                size.decrementAndGet();
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    // a failed batch is retried while the application runs, so a database outage delays events instead of dropping them;
+    // during shutdown there is no time left to wait, so the batch goes to the spill file
+    private void writeWithRetry(List<ClientChangeEvent> batch) {
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                if (!running) {
+                    log.warn("Writing {} audit events failed during shutdown, spilling them to {}", batch.size(), spillFile, e);
+                    spill(batch);
+                    return;
+                }
+                log.warn("Writing {} audit events failed, retrying in {}", batch.size(), RETRY_DELAY, e);
+                LockSupport.parkNanos(this, RETRY_DELAY.toNanos());
+            }
+        }
+    }
+
+    private void write(List<ClientChangeEvent> events) {
+        batchWrites.record(() -> transactionTemplate.executeWithoutResult(status ->
+                repository.saveAll(events.stream().map(ClientAuditEntry::new).toList())));
+        written.increment(events.size());
+    }
+
+    private List<ClientChangeEvent> pollAll() {
+        List<ClientChangeEvent> events = new ArrayList<>();
+        ClientChangeEvent event;
+        while ((event = queue.poll()) != null) {
+            events.add(event);
+            size.decrementAndGet();
+        }
+        return events;
+    }
+
+    private void spillQueued() {
+        List<ClientChangeEvent> remaining = pollAll();
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    // one JSON event per line; an event that cannot even be spilled is logged in full as the last resort
+    private void spill(List<ClientChangeEvent> events) {
+        spillLock.lock();
+        try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ClientChangeEvent event : events) {
+                out.write(objectMapper.writeValueAsString(event));
+                out.newLine();
+            }
+            spilled.increment(events.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not spill {} audit events to {}: {}", events.size(), spillFile, events, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // all spilled events in one transaction, so a failed replay leaves the file to be replayed whole next time
+    private void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        try {
+            List<ClientChangeEvent> events = new ArrayList<>();
+            for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    events.add(objectMapper.readValue(line, ClientChangeEvent.class));
+                }
+            }
+            if (!events.isEmpty()) {
+                write(events);
+            }
+            Files.delete(spillFile);
+            log.info("Wrote {} spilled audit events from {}", events.size(), spillFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not replay spilled audit events from {}, keeping the file for the next start", spillFile, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        replaySpillFile();
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // events offered while the writer was finishing its last batch
+        List<ClientChangeEvent> remaining = pollAll();
+        if (!remaining.isEmpty()) {
+            writeWithRetry(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // below the web server's start/stop phase, so requests have finished before the queue is drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
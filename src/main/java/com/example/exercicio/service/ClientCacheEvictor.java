@@ -0,0 +1,29 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ClientCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evict(Long id, String... taxIdentifiers) {
+        Cache byId = cacheManager.getCache(CacheConfig.CLIENTS_BY_ID);
+        if (byId != null) {
+            byId.evict(id);
+        }
+        Cache byTaxIdentifier = cacheManager.getCache(CacheConfig.CLIENTS_BY_TAX_IDENTIFIER);
+        if (byTaxIdentifier != null) {
+            for (String taxIdentifier : taxIdentifiers) {
+                if (taxIdentifier != null) {
+                    byTaxIdentifier.evict(taxIdentifier);
+                }
+            }
+        }
+    }
+}
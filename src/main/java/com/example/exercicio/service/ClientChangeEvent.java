@@ -0,0 +1,30 @@
+package com.example.exercicio.service;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+/**
+ * Published by the client write paths inside their transaction; listeners see it only once the transaction commits.
+ */
+public record ClientChangeEvent(Action action, Long clientId, String taxIdentifier, Long version, String principal, Instant occurredAt) {
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+
+    // version is the client version after the change, null for deletes; principal is the authenticated caller, if any
+    public static ClientChangeEvent of(Action action, Long clientId, String taxIdentifier, Long version) {
+        return new ClientChangeEvent(action, clientId, taxIdentifier, version, currentPrincipal(), Instant.now());
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
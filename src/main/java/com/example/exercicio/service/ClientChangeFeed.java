@@ -0,0 +1,128 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.dto.ClientChangePageDTO;
+import com.example.exercicio.model.ClientOutboxEntry;
+import com.example.exercicio.repository.ClientOutboxPositionRepository;
+import com.example.exercicio.repository.ClientOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of client changes and the incremental feed read from it.
+ * <p>
+ * Entries are written before the change commits, in the same transaction, so the feed never misses a committed change
+ * and never shows a rolled back one. The changes of a transaction are collected as they are published and written
+ * together just before commit: one update reserves their ids, then the entries go out as one insert batch.
+ * Ids come from a counter row instead of a sequence: the update that reserves them keeps the row locked until commit,
+ * so concurrent writers (on any instance) commit their entries in id order and a reader that has seen an id can never
+ * find a lower one committed later. Only the short step from the reservation to the commit is serialized.
+ */
+@Service
+public class ClientChangeFeed implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientChangeFeed.class);
+
+    private final ClientOutboxRepository outboxRepository;
+    private final ClientOutboxPositionRepository positionRepository;
+    private final Clock clock;
+    private final Duration retention;
+
+    public ClientChangeFeed(ClientOutboxRepository outboxRepository, ClientOutboxPositionRepository positionRepository, Clock clock,
+                            @Value("${clients.changes.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.positionRepository = positionRepository;
+        this.clock = clock;
+        this.retention = retention;
+    }
+
+    // the migration creates the row; schemas generated by ddl-auto get it here, before any change can be recorded
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            positionRepository.insertIfMissing();
+        } catch (DataIntegrityViolationException e) {
+            // another instance inserted it first
+        }
+    }
+
+    // changes published outside a transaction describe nothing that was committed, like a BEFORE_COMMIT listener
+    @EventListener
+    public void record(ClientChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private void write(List<ClientChangeEvent> events) {
+        if (positionRepository.advance(events.size()) == 0) {
+            throw new IllegalStateException("client_outbox_position has no row, client changes cannot be recorded");
+        }
+        long id = positionRepository.current() - events.size();
+        List<ClientOutboxEntry> entries = new ArrayList<>(events.size());
+        for (ClientChangeEvent event : events) {
+            entries.add(new ClientOutboxEntry(++id, event));
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    // the changes of the current transaction, written when it is about to commit
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<ClientChangeEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ClientChangeFeed.this);
+        }
+    }
+
+    // since is the nextCursor of the previous call, null starts from the oldest retained change
+    @Transactional(readOnly = true)
+    public ClientChangePageDTO findChanges(Long since, int size) {
+        long position = since == null ? 0L : since;
+        // fetch one extra row to know whether there is more without a count query
+        List<ClientChangeDTO> changes = outboxRepository.findChangesAfter(position, Limit.of(size + 1));
+        boolean hasMore = changes.size() > size;
+        List<ClientChangeDTO> content = hasMore ? new ArrayList<>(changes.subList(0, size)) : changes;
+        Long nextCursor = content.isEmpty() ? position : content.get(content.size() - 1).getId();
+        return new ClientChangePageDTO(content, nextCursor, hasMore);
+    }
+
+    @Scheduled(cron = "${clients.changes.purge-cron:0 30 * * * *}", zone = "UTC")
+    @Transactional
+    public void purge() {
+        int deleted = outboxRepository.deleteOccurredBefore(Instant.now(clock).minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} client changes older than {}", deleted, retention);
+        }
+    }
+}
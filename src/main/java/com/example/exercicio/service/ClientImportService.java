@@ -0,0 +1,137 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.dto.BulkImportResultDTO;
+import com.example.exercicio.dto.BulkImportRowDTO;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ClientImportService {
+
+    private final ClientRepository clientRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${clients.bulk.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Imports clients chunk by chunk, each chunk in its own transaction, so the input can be consumed
+     * as a stream. Rows of chunks committed before a failure stay imported.
+     */
+    public BulkImportResultDTO importClients(Iterator<ClientDTO> clients) {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        Set<String> seenTaxIdentifiers = new HashSet<>();
+        List<ClientDTO> chunk = new ArrayList<>(chunkSize);
+        int firstIndex = 0;
+
+        while (clients.hasNext()) {
+            chunk.add(clients.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, firstIndex, seenTaxIdentifiers, result);
+                firstIndex += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, firstIndex, seenTaxIdentifiers, result);
+        }
+        return result;
+    }
+
+    // rows are reported only once their chunk has committed
+    private void importChunk(List<ClientDTO> chunk, int firstIndex, Set<String> seenTaxIdentifiers, BulkImportResultDTO result) {
+        Set<String> chunkTaxIdentifiers = new HashSet<>();
+        List<BulkImportRowDTO> rows;
+        try {
+            rows = importChunkOnce(chunk, firstIndex, seenTaxIdentifiers, chunkTaxIdentifiers);
+        } catch (RuntimeException e) {
+            if (!ClientService.isTaxIdentifierViolation(e)) {
+                throw e;
+            }
+            // a client with one of these tax identifiers was created concurrently; the retry's probe reports it as a duplicate
+            try {
+                rows = importChunkOnce(chunk, firstIndex, seenTaxIdentifiers, chunkTaxIdentifiers);
+            } catch (RuntimeException retryFailure) {
+                if (!ClientService.isTaxIdentifierViolation(retryFailure)) {
+                    throw retryFailure;
+                }
+                rows = failedRows(chunk, firstIndex);
+                chunkTaxIdentifiers.clear();
+            }
+        }
+        rows.forEach(result::addRow);
+        seenTaxIdentifiers.addAll(chunkTaxIdentifiers);
+    }
+
+    private List<BulkImportRowDTO> importChunkOnce(List<ClientDTO> chunk, int firstIndex, Set<String> seenTaxIdentifiers,
+                                                   Set<String> chunkTaxIdentifiers) {
+        chunkTaxIdentifiers.clear();
+        return transactionTemplate.execute(status -> {
+            Set<String> taxIdentifiers = chunk.stream()
+                    .map(ClientDTO::getTaxIdentifier)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            // one set-based probe per chunk instead of one findByTaxIdentifier per row
+            Set<String> existing = taxIdentifiers.isEmpty() ? Set.of() : clientRepository.findExistingTaxIdentifiers(taxIdentifiers);
+
+            List<BulkImportRowDTO> rows = new ArrayList<>(chunk.size());
+            // position in rows -> client persisted for that row
+            Map<Integer, Client> created = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                ClientDTO dto = chunk.get(i);
+                int index = firstIndex + i;
+                String taxIdentifier = dto.getTaxIdentifier();
+                if (!StringUtils.hasText(taxIdentifier)) {
+                    rows.add(new BulkImportRowDTO(index, taxIdentifier, BulkImportRowDTO.Status.INVALID, null, "taxIdentifier is required"));
+                } else if (existing.contains(taxIdentifier) || seenTaxIdentifiers.contains(taxIdentifier) || !chunkTaxIdentifiers.add(taxIdentifier)) {
+                    rows.add(new BulkImportRowDTO(index, taxIdentifier, BulkImportRowDTO.Status.DUPLICATE, null,
+                            "Client with tax identifier " + taxIdentifier + " already exists"));
+                } else {
+                    Client client = ClientService.dtoToEntity(dto);
+                    entityManager.persist(client);
+                    created.put(rows.size(), client);
+                    rows.add(new BulkImportRowDTO(index, taxIdentifier, BulkImportRowDTO.Status.CREATED, null, null));
+                }
+            }
+
+            // sequence ids let Hibernate group these inserts into JDBC batches
+            entityManager.flush();
+            created.forEach((position, client) -> {
+                rows.get(position).setId(client.getId());
+                eventPublisher.publishEvent(ClientChangeEvent.of(ClientChangeEvent.Action.CREATED, client.getId(), client.getTaxIdentifier(), client.getVersion()));
+            });
+            entityManager.clear();
+            return rows;
+        });
+    }
+
+    private static List<BulkImportRowDTO> failedRows(List<ClientDTO> chunk, int firstIndex) {
+        List<BulkImportRowDTO> rows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            rows.add(new BulkImportRowDTO(firstIndex + i, chunk.get(i).getTaxIdentifier(), BulkImportRowDTO.Status.FAILED, null,
+                    "Not imported: tax identifiers in this chunk kept conflicting with concurrent writes"));
+        }
+        return rows;
+    }
+}
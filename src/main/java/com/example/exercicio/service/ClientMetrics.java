@@ -0,0 +1,40 @@
+package com.example.exercicio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClientMetrics {
+
+    private final Counter conflicts;
+    private final Counter notFound;
+    private final DistributionSummary documentsPerClient;
+
+    public ClientMetrics(MeterRegistry registry) {
+        this.conflicts = Counter.builder("clients.conflicts")
+                .description("Client writes rejected because the tax identifier already exists")
+                .register(registry);
+        this.notFound = Counter.builder("clients.not.found")
+                .description("Client operations on an id or tax identifier that does not exist")
+                .register(registry);
+        this.documentsPerClient = DistributionSummary.builder("clients.documents")
+                .description("Number of documents of each created or updated client")
+                .baseUnit("documents")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void conflict() {
+        conflicts.increment();
+    }
+
+    public void notFound() {
+        notFound.increment();
+    }
+
+    public void documents(int count) {
+        documentsPerClient.record(count);
+    }
+}
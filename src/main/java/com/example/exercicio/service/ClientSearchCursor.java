@@ -0,0 +1,54 @@
+package com.example.exercicio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes the keyset position of a search page (the sort value and id of its last client) as an opaque URL-safe cursor.
+ */
+final class ClientSearchCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS = new TypeReference<>() {
+    };
+
+    private ClientSearchCursor() {
+    }
+
+    static String encode(Map<String, Object> keys) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode search cursor", e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when the cursor was not produced by {@link #encode} for the same sort property
+     */
+    static Map<String, Object> decode(String cursor, String sortProperty) {
+        Map<String, Object> keys;
+        try {
+            keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+        // the values end up as query parameters, so anything but a name (or null) and an integral id is rejected here
+        Set<String> expected = "id".equals(sortProperty) ? Set.of("id") : Set.of(sortProperty, "id");
+        if (keys == null || !keys.keySet().equals(expected)
+                || !(keys.get("id") instanceof Integer || keys.get("id") instanceof Long)
+                || !"id".equals(sortProperty) && keys.get(sortProperty) != null && !(keys.get(sortProperty) instanceof String)) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+        // JSON numbers come back as Integer when small enough, the id attribute is a Long
+        keys.put("id", ((Number) keys.get("id")).longValue());
+        return keys;
+    }
+}
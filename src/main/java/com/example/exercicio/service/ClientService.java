@@ -1,27 +1,70 @@
 package com.example.exercicio.service;
 
+import com.example.exercicio.config.CacheConfig;
+import com.example.exercicio.config.ReplicaRoutingDataSource;
 import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.ClientDocumentDTO;
+import com.example.exercicio.dto.ClientPageDTO;
+import com.example.exercicio.dto.ClientPatchDTO;
+import com.example.exercicio.dto.ClientSearchCriteria;
+import com.example.exercicio.dto.ClientSearchPageDTO;
 import com.example.exercicio.dto.DocumentDTO;
 import com.example.exercicio.exception.ClientAlreadyExistsException;
 import com.example.exercicio.exception.ClientNotFoundException;
+import com.example.exercicio.exception.ClientVersionMismatchException;
+import com.example.exercicio.exception.DocumentNotFoundException;
 import com.example.exercicio.model.Client;
 import com.example.exercicio.model.Document;
 import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.repository.ClientSpecifications;
+import com.example.exercicio.repository.ClientSummary;
+import com.example.exercicio.repository.DocumentRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "clients.service", description = "ClientService operations, tagged by method", histogram = true)
 public class ClientService {
 
+    // the JDBC fetch size of streamDtos
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final ClientRepository clientRepository;
+    private final DocumentRepository documentRepository;
+    private final EntityManager entityManager;
+    private final ClientCacheEvictor clientCacheEvictor;
+    private final ClientMetrics clientMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
-    private Client dtoToEntity(ClientDTO dto) {
+    // also used by ClientImportService, which persists the mapped clients itself
+    static Client dtoToEntity(ClientDTO dto) {
         Client c = new Client(dto.getFirstName(), dto.getLastName(), dto.getTaxIdentifier(), dto.getEmail(), dto.getPhoneNumber());
         if (dto.getDocuments() != null) {
             dto.getDocuments().forEach(d -> c.addDocument(new Document(d.getType(), d.getNumber(), d.getDescription(), d.getExpirationDate(), c)));
@@ -29,49 +72,249 @@ public class ClientService {
         return c;
     }
 
-    private ClientDTO entityToDto(Client entity) {
+    private static ClientDTO entityToDto(Client entity) {
         List<DocumentDTO> docs = entity.getDocuments().stream()
-                .map(d -> new DocumentDTO(d.getId(), d.getType(), d.getNumber(), d.getDescription(), d.getExpirationDate()))
+                .map(ClientService::documentToDto)
                 .collect(Collectors.toList());
-        return new ClientDTO(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getTaxIdentifier(), entity.getEmail(), entity.getPhoneNumber(), docs);
+        return new ClientDTO(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getTaxIdentifier(), entity.getEmail(), entity.getPhoneNumber(), docs, entity.getVersion());
     }
 
-    @Transactional
-    public ClientDTO saveClient(ClientDTO clientDTO) {
-        if (clientRepository.findByTaxIdentifier(clientDTO.getTaxIdentifier()).isPresent()) {
-            throw new ClientAlreadyExistsException("Client with tax identifier " + clientDTO.getTaxIdentifier() + " already exists");
+    private static DocumentDTO documentToDto(Document d) {
+        return new DocumentDTO(d.getId(), d.getType(), d.getNumber(), d.getDescription(), d.getExpirationDate());
+    }
+
+    // returns whether any field changed
+    private static boolean copyDocument(DocumentDTO source, Document target) {
+        boolean changed = !Objects.equals(target.getType(), source.getType())
+                || !Objects.equals(target.getNumber(), source.getNumber())
+                || !Objects.equals(target.getDescription(), source.getDescription())
+                || !Objects.equals(target.getExpirationDate(), source.getExpirationDate());
+        target.setType(source.getType());
+        target.setNumber(source.getNumber());
+        target.setDescription(source.getDescription());
+        target.setExpirationDate(source.getExpirationDate());
+        return changed;
+    }
+
+    // documents are matched by id: matching ones are updated in place (dirty checking writes only the changed rows),
+    // documents without a known id are inserted and the existing ones missing from the request are deleted as orphans
+    // returns whether any document was inserted, updated or deleted
+    private static boolean mergeDocuments(Client client, List<DocumentDTO> incoming) {
+        Map<Long, Document> existingById = client.getDocuments().stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        Set<Long> retained = new HashSet<>();
+        List<Document> added = new ArrayList<>();
+        boolean changed = false;
+        if (incoming != null) {
+            for (DocumentDTO dto : incoming) {
+                Document current = dto.getId() == null ? null : existingById.get(dto.getId());
+                if (current == null) {
+                    added.add(new Document(dto.getType(), dto.getNumber(), dto.getDescription(), dto.getExpirationDate(), client));
+                } else {
+                    changed |= copyDocument(dto, current);
+                    retained.add(current.getId());
+                }
+            }
+        }
+        changed |= client.getDocuments().removeIf(d -> !retained.contains(d.getId()));
+        added.forEach(client::addDocument);
+        return changed || !added.isEmpty();
+    }
+
+    private static void checkVersion(Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ClientVersionMismatchException(id, expectedVersion, currentVersion);
         }
+    }
 
+    // documents are part of the client representation, so a change to them alone must also move the client version;
+    // the increment is written immediately so the returned DTO carries the new version
+    private void incrementVersion(Client client) {
+        entityManager.lock(client, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    // duplicates are detected by the unique constraint on tax_identifier when flushing, not by a prior lookup
+    private Client saveAndFlushUnique(Client client) {
+        try {
+            return clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            if (isTaxIdentifierViolation(e)) {
+                clientMetrics.conflict();
+                throw new ClientAlreadyExistsException("Client with tax identifier " + client.getTaxIdentifier() + " already exists");
+            }
+            throw e;
+        }
+    }
+
+    // anywhere in the cause chain: translated by a repository, or raw from an EntityManager flush
+    static boolean isTaxIdentifierViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Client.TAX_IDENTIFIER_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    // delivered to listeners only after the surrounding transaction commits
+    private void publishChange(ClientChangeEvent.Action action, Long clientId, String taxIdentifier, Long version) {
+        eventPublisher.publishEvent(ClientChangeEvent.of(action, clientId, taxIdentifier, version));
+    }
+
+    private ClientNotFoundException notFound(ClientNotFoundException e) {
+        clientMetrics.notFound();
+        return e;
+    }
+
+    @Transactional
+    public ClientDTO saveClient(ClientDTO clientDTO) {
         Client toSave = dtoToEntity(clientDTO);
-        Client saved = clientRepository.save(toSave);
+        Client saved = saveAndFlushUnique(toSave);
+        clientMetrics.documents(saved.getDocuments().size());
+        publishChange(ClientChangeEvent.Action.CREATED, saved.getId(), saved.getTaxIdentifier(), saved.getVersion());
         return entityToDto(saved);
     }
 
     @Transactional(readOnly = true)
     public List<ClientDTO> findAll() {
         return clientRepository.findAll().stream()
-                .map(this::entityToDto)
+                .map(ClientService::entityToDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public ClientDTO findById(Long id) {
-        Client client = clientRepository.findById(id)
-                .orElseThrow(() -> new ClientNotFoundException(id));
-        return entityToDto(client);
+    public ClientPageDTO findPage(Long cursor, int size, boolean includeDocuments) {
+        // fetch one extra row to know whether there is a next page without a count query
+        List<ClientDTO> clients = clientRepository.findDtoPageAfter(cursor == null ? 0L : cursor, Limit.of(size + 1));
+        boolean hasMore = clients.size() > size;
+        List<ClientDTO> content = hasMore ? new ArrayList<>(clients.subList(0, size)) : clients;
+        attachOrSkipDocuments(content, includeDocuments);
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        return new ClientPageDTO(content, nextCursor);
     }
 
-    @Transactional
-    public ClientDTO updateClient(Long id, ClientDTO clientDTO) {
-        Client existing = clientRepository.findById(id)
-                .orElseThrow(() -> new ClientNotFoundException(id));
+    // keyset scrolling by one property, ties broken by id; the cursor is the nextCursor of the previous page
+    @Transactional(readOnly = true)
+    public ClientSearchPageDTO search(ClientSearchCriteria criteria, Sort sort, String cursor, int size, boolean includeDocuments) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("Search sorts by a single property: " + sort);
+        }
+        Sort.Order order = orders.isEmpty() ? Sort.Order.asc("id") : orders.get(0);
+        Map<String, Object> after = cursor == null ? null : ClientSearchCursor.decode(cursor, order.getProperty());
+        // fetch one extra row to know whether there is a next page; only the summary columns are selected
+        List<ClientSummary> clients = clientRepository.findBy(
+                ClientSpecifications.matching(criteria).and(ClientSpecifications.scrolledAfter(order, after)),
+                query -> query.as(ClientSummary.class).limit(size + 1).all());
+        boolean hasMore = clients.size() > size;
+        List<ClientDTO> content = clients.stream()
+                .limit(size)
+                .map(ClientSummary::toDto)
+                .collect(Collectors.toList());
+        // documents in one query for the whole page instead of initializing each collection
+        attachOrSkipDocuments(content, includeDocuments);
+        String nextCursor = hasMore ? ClientSearchCursor.encode(keysetOf(content.get(content.size() - 1), order.getProperty())) : null;
+        return new ClientSearchPageDTO(content, nextCursor);
+    }
 
-        if (!existing.getTaxIdentifier().equals(clientDTO.getTaxIdentifier())) {
-            Optional<Client> existingWithSameTax = clientRepository.findByTaxIdentifier(clientDTO.getTaxIdentifier());
-            if (existingWithSameTax.isPresent() && !existingWithSameTax.get().getId().equals(id)) {
-                throw new ClientAlreadyExistsException("Client with tax identifier " + clientDTO.getTaxIdentifier() + " already exists");
+    private static Map<String, Object> keysetOf(ClientDTO client, String sortProperty) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        switch (sortProperty) {
+            case "firstName" -> keys.put("firstName", client.getFirstName());
+            case "lastName" -> keys.put("lastName", client.getLastName());
+            case "id" -> {
             }
+            default -> throw new IllegalArgumentException("Unsupported sort property: " + sortProperty);
+        }
+        keys.put("id", client.getId());
+        return keys;
+    }
+
+    private void attachOrSkipDocuments(List<ClientDTO> clients, boolean includeDocuments) {
+        if (includeDocuments) {
+            attachDocuments(clients);
+        } else {
+            clients.forEach(client -> client.setDocuments(null));
         }
+    }
+
+    private void attachDocuments(List<ClientDTO> clients) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        Map<Long, ClientDTO> byId = clients.stream().collect(Collectors.toMap(ClientDTO::getId, Function.identity()));
+        clientRepository.findDocumentRowsByClientIds(byId.keySet())
+                .forEach(row -> byId.get(row.clientId()).getDocuments().add(row.toDto()));
+    }
+
+    // projections read in chunks, each chunk's documents in one query; no entities enter the persistence context
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ClientDTO> consumer) {
+        List<ClientDTO> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<ClientDTO> clients = clientRepository.streamDtos()) {
+            clients.forEach(client -> {
+                chunk.add(client);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    emitChunk(chunk, consumer);
+                }
+            });
+        }
+        emitChunk(chunk, consumer);
+    }
+
+    private void emitChunk(List<ClientDTO> chunk, Consumer<ClientDTO> consumer) {
+        attachDocuments(chunk);
+        chunk.forEach(consumer);
+        chunk.clear();
+    }
+
+    // a client read on a replica may predate a write that has just evicted it, so only primary reads are cached
+    private ClientDTO cached(String cacheName, Object key, Supplier<ClientDTO> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        ClientDTO hit = cache != null ? cache.get(key, ClientDTO.class) : null;
+        if (hit != null) {
+            return hit;
+        }
+        ClientDTO loaded = loader.get();
+        if (cache != null && !ReplicaRoutingDataSource.isReplicaTransaction()) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Transactional(readOnly = true)
+    public ClientDTO findById(Long id) {
+        return cached(CacheConfig.CLIENTS_BY_ID, id, () -> {
+            Client client = clientRepository.findById(id)
+                    .orElseThrow(() -> notFound(new ClientNotFoundException(id)));
+            return entityToDto(client);
+        });
+    }
+
+    // a replica may serve an older version; a conditional write on the primary then fails with 412
+    @Transactional(readOnly = true)
+    public Long findVersion(Long id) {
+        return clientRepository.findVersionById(id)
+                .orElseThrow(() -> notFound(new ClientNotFoundException(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public ClientDTO findByTaxIdentifier(String taxIdentifier) {
+        return cached(CacheConfig.CLIENTS_BY_TAX_IDENTIFIER, taxIdentifier, () -> {
+            Client client = clientRepository.findByTaxIdentifier(taxIdentifier)
+                    .orElseThrow(() -> notFound(new ClientNotFoundException("Client with tax identifier " + taxIdentifier + " not found")));
+            return entityToDto(client);
+        });
+    }
+
+    // expectedVersion comes from If-Match, null skips the check
+    @Transactional
+    public ClientDTO updateClient(Long id, ClientDTO clientDTO, Long expectedVersion) {
+        Client existing = clientRepository.findById(id)
+                .orElseThrow(() -> notFound(new ClientNotFoundException(id)));
+        checkVersion(id, expectedVersion, existing.getVersion());
+        String previousTaxIdentifier = existing.getTaxIdentifier();
 
         existing.setFirstName(clientDTO.getFirstName());
         existing.setLastName(clientDTO.getLastName());
@@ -79,21 +322,98 @@ public class ClientService {
         existing.setEmail(clientDTO.getEmail());
         existing.setPhoneNumber(clientDTO.getPhoneNumber());
 
-        existing.getDocuments().clear();
-        if (clientDTO.getDocuments() != null) {
-            clientDTO.getDocuments().forEach(d -> existing.addDocument(
-                    new Document(d.getType(), d.getNumber(), d.getDescription(), d.getExpirationDate(), existing)));
+        if (mergeDocuments(existing, clientDTO.getDocuments())) {
+            incrementVersion(existing);
+        }
+
+        Client updated = saveAndFlushUnique(existing);
+        clientCacheEvictor.evict(id, previousTaxIdentifier, updated.getTaxIdentifier());
+        clientMetrics.documents(updated.getDocuments().size());
+        publishChange(ClientChangeEvent.Action.UPDATED, id, updated.getTaxIdentifier(), updated.getVersion());
+        return entityToDto(updated);
+    }
+
+    @Transactional
+    public ClientDTO patchClient(Long id, ClientPatchDTO patch, Long expectedVersion) {
+        Client existing = clientRepository.findById(id)
+                .orElseThrow(() -> notFound(new ClientNotFoundException(id)));
+        checkVersion(id, expectedVersion, existing.getVersion());
+        String previousTaxIdentifier = existing.getTaxIdentifier();
+
+        if (patch.getFirstName() != null) {
+            existing.setFirstName(patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            existing.setLastName(patch.getLastName());
+        }
+        if (patch.getTaxIdentifier() != null) {
+            existing.setTaxIdentifier(patch.getTaxIdentifier());
+        }
+        if (patch.getEmail() != null) {
+            existing.setEmail(patch.getEmail());
+        }
+        if (patch.getPhoneNumber() != null) {
+            existing.setPhoneNumber(patch.getPhoneNumber());
         }
 
-        Client updated = clientRepository.save(existing);
+        Client updated = saveAndFlushUnique(existing);
+        clientCacheEvictor.evict(id, previousTaxIdentifier, updated.getTaxIdentifier());
+        publishChange(ClientChangeEvent.Action.UPDATED, id, updated.getTaxIdentifier(), updated.getVersion());
         return entityToDto(updated);
     }
 
+    // expectedVersion comes from If-Match, null skips the check; the client is loaded without its documents
     @Transactional
-    public void deleteById(Long id) {
-        if (!clientRepository.existsById(id)) {
-            throw new ClientNotFoundException(id);
+    public ClientDocumentDTO addDocument(Long clientId, DocumentDTO documentDTO, Long expectedVersion) {
+        Client client = entityManager.find(Client.class, clientId);
+        if (client == null) {
+            throw notFound(new ClientNotFoundException(clientId));
         }
-        clientRepository.deleteById(id);
+        checkVersion(clientId, expectedVersion, client.getVersion());
+        Document document = documentRepository.save(new Document(documentDTO.getType(), documentDTO.getNumber(),
+                documentDTO.getDescription(), documentDTO.getExpirationDate(), client));
+        incrementVersion(client);
+        clientCacheEvictor.evict(clientId, client.getTaxIdentifier());
+        publishChange(ClientChangeEvent.Action.UPDATED, clientId, client.getTaxIdentifier(), client.getVersion());
+        return new ClientDocumentDTO(documentToDto(document), client.getVersion());
+    }
+
+    @Transactional
+    public ClientDocumentDTO updateDocument(Long clientId, Long documentId, DocumentDTO documentDTO, Long expectedVersion) {
+        Document document = documentRepository.findByIdAndClientId(documentId, clientId)
+                .orElseThrow(() -> new DocumentNotFoundException(clientId, documentId));
+        Client client = document.getClient();
+        checkVersion(clientId, expectedVersion, client.getVersion());
+        if (copyDocument(documentDTO, document)) {
+            incrementVersion(client);
+            publishChange(ClientChangeEvent.Action.UPDATED, clientId, client.getTaxIdentifier(), client.getVersion());
+        }
+        clientCacheEvictor.evict(clientId, client.getTaxIdentifier());
+        return new ClientDocumentDTO(documentToDto(document), client.getVersion());
+    }
+
+    // returns the new version of the client
+    @Transactional
+    public Long deleteDocument(Long clientId, Long documentId, Long expectedVersion) {
+        Document document = documentRepository.findByIdAndClientId(documentId, clientId)
+                .orElseThrow(() -> new DocumentNotFoundException(clientId, documentId));
+        Client client = document.getClient();
+        checkVersion(clientId, expectedVersion, client.getVersion());
+        documentRepository.delete(document);
+        incrementVersion(client);
+        clientCacheEvictor.evict(clientId, client.getTaxIdentifier());
+        publishChange(ClientChangeEvent.Action.UPDATED, clientId, client.getTaxIdentifier(), client.getVersion());
+        return client.getVersion();
+    }
+
+    // the delete is versioned, so a write committed after the check still fails it (optimistic lock, 412)
+    @Transactional
+    public void deleteById(Long id, Long expectedVersion) {
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> notFound(new ClientNotFoundException(id)));
+        checkVersion(id, expectedVersion, client.getVersion());
+        clientCacheEvictor.evict(id, client.getTaxIdentifier());
+        clientRepository.delete(client);
+        publishChange(ClientChangeEvent.Action.DELETED, id, client.getTaxIdentifier(), null);
     }
 }
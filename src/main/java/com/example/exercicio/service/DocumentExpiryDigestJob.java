@@ -0,0 +1,46 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.dto.ExpiryDigestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds the daily digest of documents about to expire, logs it and keeps the latest one for GET /documents/expiring/digest.
+ */
+@Component
+public class DocumentExpiryDigestJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentExpiryDigestJob.class);
+
+    private final DocumentExpiryService documentExpiryService;
+    private final Period within;
+    private final int chunkSize;
+    private final AtomicReference<ExpiryDigestDTO> latest = new AtomicReference<>();
+
+    public DocumentExpiryDigestJob(DocumentExpiryService documentExpiryService,
+                                   @Value("${documents.expiry-digest.within:P30D}") String within,
+                                   @Value("${documents.expiry-digest.chunk-size:500}") int chunkSize) {
+        this.documentExpiryService = documentExpiryService;
+        this.within = Period.parse(within);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${documents.expiry-digest.cron:0 0 6 * * *}", zone = "UTC")
+    public void run() {
+        ExpiryDigestDTO digest = documentExpiryService.buildDigest(within, chunkSize);
+        latest.set(digest);
+        log.info("Expiry digest for {}: {} documents of {} clients expire until {}, by type {}",
+                digest.getDate(), digest.getDocuments(), digest.getClients(), digest.getUntil(), digest.getDocumentsByType());
+    }
+
+    public Optional<ExpiryDigestDTO> latest() {
+        return Optional.ofNullable(latest.get());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.exercicio.service;
+
+import com.example.exercicio.dto.ExpiringDocumentDTO;
+import com.example.exercicio.dto.ExpiringDocumentPageDTO;
+import com.example.exercicio.dto.ExpiryDigestDTO;
+import com.example.exercicio.repository.DocumentRepository;
+import com.example.exercicio.repository.DocumentRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DocumentExpiryService {
+
+    private final DocumentRepository documentRepository;
+    private final Clock clock;
+
+    // keyset position over (expirationDate, id), the order of idx_documents_expiration_date
+    private record Position(LocalDate date, long id) {
+
+        static Position before(LocalDate date) {
+            return new Position(date.minusDays(1), Long.MAX_VALUE);
+        }
+
+        static Position of(DocumentRow row) {
+            return new Position(row.expirationDate(), row.id());
+        }
+
+        static Position parse(String cursor) {
+            int separator = cursor.lastIndexOf(':');
+            try {
+                return new Position(LocalDate.parse(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        String format() {
+            return date + ":" + id;
+        }
+    }
+
+    private static ExpiringDocumentDTO toDto(DocumentRow row) {
+        return new ExpiringDocumentDTO(row.clientId(), row.id(), row.type(), row.number(), row.description(), row.expirationDate());
+    }
+
+    private List<DocumentRow> findAfter(Position position, LocalDate until, int limit) {
+        return documentRepository.findExpiringAfter(position.date(), position.id(), until, Limit.of(limit));
+    }
+
+    /**
+     * Documents expiring from today until today + within, ordered by expiration date.
+     *
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public ExpiringDocumentPageDTO findExpiring(Period within, String cursor, int size) {
+        LocalDate today = LocalDate.now(clock);
+        Position position = cursor == null ? Position.before(today) : Position.parse(cursor);
+        // fetch one extra row to know whether there is a next page without a count query
+        List<DocumentRow> rows = findAfter(position, today.plus(within), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<DocumentRow> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? Position.of(page.get(page.size() - 1)).format() : null;
+        return new ExpiringDocumentPageDTO(page.stream().map(DocumentExpiryService::toDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Aggregates the documents expiring within the window chunk by chunk. Each chunk is a separate repository call,
+     * so no transaction or connection is held between chunks and only flat rows, never clients, are loaded.
+     */
+    public ExpiryDigestDTO buildDigest(Period within, int chunkSize) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate until = today.plus(within);
+        ExpiryDigestDTO digest = new ExpiryDigestDTO();
+        digest.setDate(today);
+        digest.setUntil(until);
+        Set<Long> clientIds = new HashSet<>();
+
+        Position position = Position.before(today);
+        List<DocumentRow> chunk;
+        do {
+            chunk = findAfter(position, until, chunkSize);
+            for (DocumentRow row : chunk) {
+                digest.setDocuments(digest.getDocuments() + 1);
+                digest.getDocumentsByType().merge(String.valueOf(row.type()), 1L, Long::sum);
+                clientIds.add(row.clientId());
+            }
+            if (!chunk.isEmpty()) {
+                position = Position.of(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == chunkSize);
+
+        digest.setClients(clientIds.size());
+        return digest;
+    }
+}
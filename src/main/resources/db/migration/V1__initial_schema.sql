@@ -0,0 +1,80 @@
+-- Schema of the prod profile, validated against the entity mappings on startup (ddl-auto=validate).
+-- Sequences advance by 50 to match the pooled id generators, which keeps JDBC insert batching enabled.
+
+create sequence clients_seq start with 1 increment by 50;
+create sequence documents_seq start with 1 increment by 50;
+create sequence client_audit_log_seq start with 1 increment by 50;
+
+create table clients (
+    id             bigint       not null,
+    first_name     varchar(255),
+    last_name      varchar(255),
+    tax_identifier varchar(255),
+    email          varchar(255),
+    phone_number   varchar(255),
+    version        bigint,
+    constraint pk_clients primary key (id),
+    constraint uk_clients_tax_identifier unique (tax_identifier)
+);
+
+-- prefix search and keyset scrolling by name, in (name, id) order
+create index idx_clients_last_name_id on clients (last_name, id);
+create index idx_clients_first_name_id on clients (first_name, id);
+create index idx_clients_email on clients (email);
+
+create table documents (
+    id              bigint       not null,
+    type            varchar(255),
+    number          varchar(255),
+    description     varchar(255),
+    expiration_date date,
+    client_id       bigint,
+    constraint pk_documents primary key (id),
+    constraint fk_documents_client foreign key (client_id) references clients (id)
+);
+
+-- leads with client_id, so it also serves the foreign key and the per-client document loads
+create index idx_documents_client_type_expiration on documents (client_id, type, expiration_date);
+create index idx_documents_expiration_date on documents (expiration_date, id);
+
+create table client_audit_log (
+    id             bigint                   not null,
+    action         varchar(16)              not null,
+    client_id      bigint                   not null,
+    tax_identifier varchar(255),
+    principal      varchar(255),
+    occurred_at    timestamp(6) with time zone not null,
+    constraint pk_client_audit_log primary key (id),
+    constraint ck_client_audit_log_action check (action in ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+create index idx_client_audit_log_client_id on client_audit_log (client_id);
+
+create table client_outbox (
+    id             bigint                   not null,
+    action         varchar(16)              not null,
+    client_id      bigint                   not null,
+    tax_identifier varchar(255),
+    client_version bigint,
+    occurred_at    timestamp(6) with time zone not null,
+    constraint pk_client_outbox primary key (id),
+    constraint ck_client_outbox_action check (action in ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+create index idx_client_outbox_occurred_at on client_outbox (occurred_at);
+
+-- hands out client_outbox ids in commit order (the row stays locked until the writing transaction commits)
+create table client_outbox_position (
+    id      int    not null,
+    last_id bigint not null,
+    constraint pk_client_outbox_position primary key (id)
+);
+
+insert into client_outbox_position (id, last_id) values (1, 0);
+
+-- written by ReplicationLagMonitor when read replicas are enabled
+create table replication_heartbeat (
+    id      int       not null,
+    beat_at timestamp not null,
+    constraint pk_replication_heartbeat primary key (id)
+);
@@ -2,28 +2,41 @@ package com.example.exercicio;
 
 import com.example.exercicio.controller.AuthController;
 import com.example.exercicio.security.JwtUtil;
+import com.example.exercicio.security.LoginExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthControllerUnitTest {
 
+    private static final String BODY = "{\"username\":\"user\",\"password\":\"password\"}";
+
     private MockMvc mockMvc;
 
     @Mock
@@ -32,6 +45,9 @@ public class AuthControllerUnitTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private LoginExecutor loginExecutor = new LoginExecutor(1, 10);
+
     @InjectMocks
     private AuthController authController;
 
@@ -43,15 +59,42 @@ public class AuthControllerUnitTest {
     @Test
     void loginReturnsToken() throws Exception {
         // Arrange
-        Authentication auth = new UsernamePasswordAuthenticationToken("user", null);
+        Authentication auth = new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(auth);
-        when(jwtUtil.generateToken("user")).thenReturn("mocked-token");
+        when(jwtUtil.generateToken("user", auth.getAuthorities())).thenReturn("mocked-token");
 
-        String body = "{\"username\":\"user\",\"password\":\"password\"}";
+        // Act
+        MvcResult result = mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        // Act & Assert
-        mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(body))
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("mocked-token"));
     }
+
+    @Test
+    void loginWithBadCredentialsReturnsUnauthorized() throws Exception {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(new BadCredentialsException("bad"));
+
+        MvcResult result = mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loginIsShedWhenLoginPoolIsSaturated() throws Exception {
+        doThrow(new RejectedExecutionException()).when(loginExecutor).submit(any());
+
+        MvcResult result = mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
 }
@@ -0,0 +1,187 @@
+package com.example.exercicio;
+
+import com.example.exercicio.model.ClientAuditEntry;
+import com.example.exercicio.repository.ClientAuditEntryRepository;
+import com.example.exercicio.service.ClientAuditWriter;
+import com.example.exercicio.service.ClientChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientAuditWriterUnitTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Mock
+    private ClientAuditEntryRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private SimpleMeterRegistry registry;
+    private List<ClientAuditEntry> written;
+    private AtomicBoolean databaseDown;
+    private Path spillFile;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        written = new CopyOnWriteArrayList<>();
+        databaseDown = new AtomicBoolean();
+        spillFile = tempDir.resolve("audit-spill.jsonl");
+        lenient().when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            List<ClientAuditEntry> entries = invocation.getArgument(0);
+            written.addAll(entries);
+            return entries;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    private ClientAuditWriter writer(int capacity, int batchSize, long offerTimeoutMs) {
+        return new ClientAuditWriter(repository, transactionManager, registry, objectMapper, capacity, batchSize, 10_000,
+                offerTimeoutMs, spillFile);
+    }
+
+    private static ClientChangeEvent event(long clientId) {
+        return ClientChangeEvent.of(ClientChangeEvent.Action.UPDATED, clientId, "TAX" + clientId, 1L);
+    }
+
+    @Test
+    void stop_DrainsQueuedEventsInBatches() {
+        // Given: a long flush interval, so only the shutdown drain writes
+        ClientAuditWriter writer = writer(100, 2, 1000);
+        writer.start();
+        for (long id = 1; id <= 5; id++) {
+            writer.onClientChange(event(id));
+        }
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(written).extracting(ClientAuditEntry::getClientId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(registry.get("audit.events.written").counter().count()).isEqualTo(5);
+        assertThat(registry.get("audit.queue.size").gauge().value()).isZero();
+        assertThat(registry.get("audit.queue.overflow").counter().count()).isZero();
+    }
+
+    @Test
+    void onClientChange_WaitsForWriter_WhenQueueIsFull() {
+        // Given: a single-slot queue and a writer that only wakes up on a full batch
+        ClientAuditWriter writer = writer(1, 10, 5000);
+        writer.start();
+        writer.onClientChange(event(1));
+
+        // When: the caller wakes the writer and waits for it to take the first event
+        writer.onClientChange(event(2));
+
+        // Then
+        assertThat(registry.get("audit.queue.overflow").counter().count()).isEqualTo(1);
+        assertThat(written).extracting(ClientAuditEntry::getClientId).contains(1L);
+
+        writer.stop();
+        assertThat(written).extracting(ClientAuditEntry::getClientId).containsExactly(1L, 2L);
+        assertThat(spillFile).doesNotExist();
+    }
+
+    @Test
+    void onClientChange_SpillsEvent_WhenQueueStaysFull() throws Exception {
+        // Given: the writer cannot empty the queue while the database is down
+        databaseDown.set(true);
+        ClientAuditWriter writer = writer(1, 1, 50);
+        writer.start();
+        writer.onClientChange(event(1));
+        writer.onClientChange(event(2));
+
+        // When
+        writer.onClientChange(event(3));
+        writer.stop();
+
+        // Then: nothing was thrown to the caller and nothing was lost
+        assertThat(Files.readAllLines(spillFile)).hasSize(3);
+        assertThat(registry.get("audit.events.spilled").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void stop_SpillsBatch_WhenShutdownWriteFails() throws Exception {
+        // Given
+        databaseDown.set(true);
+        ClientAuditWriter writer = writer(100, 10, 1000);
+        writer.start();
+        writer.onClientChange(event(7));
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(Files.readAllLines(spillFile)).singleElement().asString().contains("\"clientId\":7");
+    }
+
+    @Test
+    void start_ReplaysSpilledEvents() {
+        // Given: events spilled by a writer that stopped while the database was down
+        ClientAuditWriter stopped = writer(100, 10, 1000);
+        stopped.onClientChange(event(8));
+        stopped.onClientChange(event(9));
+
+        // When
+        ClientAuditWriter writer = writer(100, 10, 1000);
+        writer.start();
+        writer.stop();
+
+        // Then
+        assertThat(written).extracting(ClientAuditEntry::getClientId).containsExactly(8L, 9L);
+        assertThat(spillFile).doesNotExist();
+    }
+
+    @Test
+    void onClientChange_RecordsActingPrincipal() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        ClientAuditWriter writer = writer(100, 10, 1000);
+        writer.start();
+        writer.onClientChange(event(1));
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(written).extracting(ClientAuditEntry::getPrincipal).containsExactly("admin");
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.exercicio;
+
+import com.example.exercicio.controller.ClientChangeController;
+import com.example.exercicio.controller.ClientController;
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.dto.ClientChangePageDTO;
+import com.example.exercicio.service.ClientChangeEvent;
+import com.example.exercicio.service.ClientChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientChangeControllerUnitTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ClientChangeFeed clientChangeFeed;
+
+    @InjectMocks
+    private ClientChangeController clientChangeController;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(clientChangeController).build();
+    }
+
+    @Test
+    void getChanges_Success() throws Exception {
+        ClientChangeDTO change = new ClientChangeDTO(8L, ClientChangeEvent.Action.DELETED, 3L, "123456789", null, Instant.parse("2026-03-01T12:00:00Z"));
+        when(clientChangeFeed.findChanges(7L, 50)).thenReturn(new ClientChangePageDTO(List.of(change), 8L, false));
+
+        mockMvc.perform(get("/clients/changes").param("since", "7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ClientController.NEXT_CURSOR_HEADER, "8"))
+                .andExpect(header().string(ClientChangeController.HAS_MORE_HEADER, "false"))
+                .andExpect(jsonPath("$[0].action").value("DELETED"))
+                .andExpect(jsonPath("$[0].clientId").value(3));
+    }
+
+    @Test
+    void getChanges_ReturnsBadRequest_ForNegativeSince() throws Exception {
+        mockMvc.perform(get("/clients/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(clientChangeFeed);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.repository.ClientOutboxRepository;
+import com.example.exercicio.service.ClientChangeEvent;
+import com.example.exercicio.service.ClientChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the feed reads committed entries, so the writers run in their own transactions
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ClientChangeFeed.class, ClientChangeFeedIntegrationTest.Config.class})
+public class ClientChangeFeedIntegrationTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+    }
+
+    @Autowired
+    private ClientChangeFeed clientChangeFeed;
+
+    @Autowired
+    private ClientOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAll());
+    }
+
+    private static ClientChangeEvent change(long clientId) {
+        return ClientChangeEvent.of(ClientChangeEvent.Action.UPDATED, clientId, "TAX" + clientId, 1L);
+    }
+
+    @Test
+    void record_InterleavedTransactionsCommitInIdOrder() throws Exception {
+        long since = clientChangeFeed.findChanges(null, 100).getNextCursor();
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        // the first writer reserves its id before commit and stays uncommitted until released
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            clientChangeFeed.record(change(1L));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCompletion() {
+                    firstRecorded.countDown();
+                    await(releaseFirst);
+                }
+            });
+        }));
+        assertThat(firstRecorded.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the second writer starts later but would commit first if it did not wait for the first one
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> clientChangeFeed.record(change(2L))));
+
+        Thread.sleep(300);
+        assertThat(second).isNotDone();
+        assertThat(clientChangeFeed.findChanges(since, 100).getChanges()).isEmpty();
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThat(clientChangeFeed.findChanges(since, 100).getChanges())
+                .extracting(ClientChangeDTO::getClientId).containsExactly(1L, 2L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
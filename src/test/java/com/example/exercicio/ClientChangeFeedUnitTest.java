@@ -0,0 +1,156 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ClientChangeDTO;
+import com.example.exercicio.dto.ClientChangePageDTO;
+import com.example.exercicio.model.ClientOutboxEntry;
+import com.example.exercicio.repository.ClientOutboxPositionRepository;
+import com.example.exercicio.repository.ClientOutboxRepository;
+import com.example.exercicio.service.ClientChangeEvent;
+import com.example.exercicio.service.ClientChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientChangeFeedUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private ClientOutboxRepository outboxRepository;
+
+    @Mock
+    private ClientOutboxPositionRepository positionRepository;
+
+    private ClientChangeFeed clientChangeFeed;
+
+    @BeforeEach
+    void setup() {
+        clientChangeFeed = new ClientChangeFeed(outboxRepository, positionRepository, Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(7));
+    }
+
+    private static ClientChangeDTO change(long id) {
+        return new ClientChangeDTO(id, ClientChangeEvent.Action.UPDATED, 1L, "123456789", 2L, NOW.minusSeconds(60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_WritesTransactionChangesOnceBeforeCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        when(positionRepository.advance(2L)).thenReturn(1);
+        when(positionRepository.current()).thenReturn(9L);
+
+        // When
+        clientChangeFeed.record(ClientChangeEvent.of(ClientChangeEvent.Action.CREATED, 1L, "123456789", 0L));
+        clientChangeFeed.record(ClientChangeEvent.of(ClientChangeEvent.Action.UPDATED, 2L, "987654321", 3L));
+        verifyNoInteractions(positionRepository, outboxRepository);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then: one reservation for both ids and one batch of entries
+        ArgumentCaptor<List<ClientOutboxEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(positionRepository).advance(2L);
+        verify(outboxRepository).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(ClientOutboxEntry::getId).containsExactly(8L, 9L);
+        assertThat(entries.getValue()).extracting(ClientOutboxEntry::getClientId).containsExactly(1L, 2L);
+        assertThat(entries.getValue().get(1).getAction()).isEqualTo(ClientChangeEvent.Action.UPDATED);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void record_IgnoresChangesOutsideTransactions() {
+        // When
+        clientChangeFeed.record(ClientChangeEvent.of(ClientChangeEvent.Action.CREATED, 1L, "123456789", 0L));
+
+        // Then
+        verifyNoInteractions(positionRepository, outboxRepository);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_IgnoresRowInsertedByAnotherInstance() {
+        // Given
+        when(positionRepository.insertIfMissing()).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        clientChangeFeed.afterSingletonsInstantiated();
+
+        // Then
+        verify(positionRepository).insertIfMissing();
+    }
+
+    @Test
+    void findChanges_ReturnsPageAndReportsMore() {
+        // Given
+        when(outboxRepository.findChangesAfter(10L, Limit.of(3)))
+                .thenReturn(List.of(change(11), change(12), change(13)));
+
+        // When
+        ClientChangePageDTO page = clientChangeFeed.findChanges(10L, 2);
+
+        // Then
+        assertThat(page.getChanges()).extracting(ClientChangeDTO::getId).containsExactly(11L, 12L);
+        assertThat(page.getNextCursor()).isEqualTo(12L);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void findChanges_KeepsPosition_WhenNothingChanged() {
+        // Given
+        when(outboxRepository.findChangesAfter(eq(42L), any())).thenReturn(List.of());
+
+        // When
+        ClientChangePageDTO page = clientChangeFeed.findChanges(42L, 50);
+
+        // Then
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNextCursor()).isEqualTo(42L);
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void findChanges_StartsFromBeginning_WithoutSince() {
+        // Given
+        when(outboxRepository.findChangesAfter(eq(0L), any())).thenReturn(List.of(change(1)));
+
+        // When
+        ClientChangePageDTO page = clientChangeFeed.findChanges(null, 50);
+
+        // Then
+        assertThat(page.getNextCursor()).isEqualTo(1L);
+    }
+
+    @Test
+    void purge_DeletesEntriesOlderThanRetention() {
+        // When
+        clientChangeFeed.purge();
+
+        // Then
+        verify(outboxRepository).deleteOccurredBefore(NOW.minus(Duration.ofDays(7)));
+    }
+}
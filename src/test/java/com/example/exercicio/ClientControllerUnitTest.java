@@ -2,9 +2,16 @@ package com.example.exercicio;
 
 import com.example.exercicio.controller.ClientController;
 import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.ClientDocumentDTO;
+import com.example.exercicio.dto.ClientPageDTO;
+import com.example.exercicio.dto.ClientPatchDTO;
+import com.example.exercicio.dto.ClientSearchCriteria;
+import com.example.exercicio.dto.ClientSearchPageDTO;
 import com.example.exercicio.dto.DocumentDTO;
 import com.example.exercicio.exception.ClientAlreadyExistsException;
 import com.example.exercicio.exception.ClientNotFoundException;
+import com.example.exercicio.exception.ClientVersionMismatchException;
+import com.example.exercicio.exception.DocumentNotFoundException;
 import com.example.exercicio.service.ClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -15,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -25,6 +33,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -106,11 +116,12 @@ public class ClientControllerUnitTest {
         ClientDTO client2 = new ClientDTO(2L, "Jane", "Smith", "987654321", "jane.smith@email.com", "+0987654321", Collections.emptyList());
         List<ClientDTO> clients = Arrays.asList(savedClientDTO, client2);
 
-        when(clientService.findAll()).thenReturn(clients);
+        when(clientService.findPage(null, 50, true)).thenReturn(new ClientPageDTO(clients, null));
 
         mockMvc.perform(get("/clients")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ClientController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -118,12 +129,12 @@ public class ClientControllerUnitTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].firstName").value("Jane"));
 
-        verify(clientService).findAll();
+        verify(clientService).findPage(null, 50, true);
     }
 
     @Test
     void getAllClients_EmptyList() throws Exception {
-        when(clientService.findAll()).thenReturn(Collections.emptyList());
+        when(clientService.findPage(null, 50, true)).thenReturn(new ClientPageDTO(Collections.emptyList(), null));
 
         mockMvc.perform(get("/clients")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -131,11 +142,100 @@ public class ClientControllerUnitTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(clientService).findAll();
+        verify(clientService).findPage(null, 50, true);
+    }
+
+    @Test
+    void getAllClients_WithCursor_ReturnsNextCursorHeader() throws Exception {
+        when(clientService.findPage(10L, 1, true)).thenReturn(new ClientPageDTO(List.of(savedClientDTO), 1L));
+
+        mockMvc.perform(get("/clients")
+                .param("cursor", "10")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ClientController.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(clientService).findPage(10L, 1, true);
+    }
+
+    @Test
+    void getAllClients_SkipsDocuments_WhenIncludeIsEmpty() throws Exception {
+        ClientDTO withoutDocuments = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890", null);
+        when(clientService.findPage(null, 50, false)).thenReturn(new ClientPageDTO(List.of(withoutDocuments), null));
+
+        mockMvc.perform(get("/clients")
+                .param("include", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].documents").doesNotExist());
+    }
+
+    @Test
+    void getAllClients_RejectsUnknownInclude() throws Exception {
+        mockMvc.perform(get("/clients")
+                .param("include", "addresses"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    void getAllClients_ClampsPageSize() throws Exception {
+        when(clientService.findPage(null, 500, true)).thenReturn(new ClientPageDTO(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/clients")
+                .param("size", "100000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(clientService).findPage(null, 500, true);
     }
 
     //GET CLIENT BY ID TESTS
 
+    //SEARCH CLIENTS TESTS
+
+    @Test
+    void searchClients_BindsFiltersAndSort() throws Exception {
+        when(clientService.search(any(ClientSearchCriteria.class), eq(Sort.by(Sort.Direction.DESC, "lastName")), isNull(), eq(20), eq(true)))
+                .thenReturn(new ClientSearchPageDTO(List.of(savedClientDTO), "next"));
+
+        mockMvc.perform(get("/clients/search")
+                .param("lastName", "Do")
+                .param("documentType", "passport")
+                .param("expiresTo", "2030-12-31")
+                .param("sort", "lastName,desc")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ClientController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].lastName").value("Doe"));
+
+        verify(clientService).search(argThat(criteria -> "Do".equals(criteria.getLastName())
+                        && "passport".equals(criteria.getDocumentType())
+                        && LocalDate.of(2030, 12, 31).equals(criteria.getExpiresTo())
+                        && criteria.getFirstName() == null),
+                any(Sort.class), isNull(), eq(20), eq(true));
+    }
+
+    @Test
+    void searchClients_RejectsUnsupportedSort() throws Exception {
+        mockMvc.perform(get("/clients/search").param("sort", "phoneNumber"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    void searchClients_RejectsInvalidCursor() throws Exception {
+        when(clientService.search(any(ClientSearchCriteria.class), any(Sort.class), eq("garbage"), eq(50), eq(true)))
+                .thenThrow(new IllegalArgumentException("Invalid search cursor"));
+
+        mockMvc.perform(get("/clients/search").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getClientById_Success() throws Exception {
         when(clientService.findById(1L)).thenReturn(savedClientDTO);
@@ -151,6 +251,40 @@ public class ClientControllerUnitTest {
         verify(clientService).findById(1L);
     }
 
+    @Test
+    void getClientById_ReturnsETag() throws Exception {
+        savedClientDTO.setVersion(3L);
+        when(clientService.findById(1L)).thenReturn(savedClientDTO);
+
+        mockMvc.perform(get("/clients/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getClientById_NotModified_WhenIfNoneMatchHoldsCurrentVersion() throws Exception {
+        when(clientService.findVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/clients/1").header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(clientService, never()).findById(anyLong());
+    }
+
+    @Test
+    void getClientById_ReturnsBody_WhenIfNoneMatchIsStale() throws Exception {
+        savedClientDTO.setVersion(4L);
+        when(clientService.findVersion(1L)).thenReturn(4L);
+        when(clientService.findById(1L)).thenReturn(savedClientDTO);
+
+        mockMvc.perform(get("/clients/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     void getClientById_NotFound() throws Exception {
         when(clientService.findById(999L)).thenThrow(new ClientNotFoundException(999L));
@@ -162,13 +296,33 @@ public class ClientControllerUnitTest {
         verify(clientService).findById(999L);
     }
 
+    @Test
+    void getClientByTaxIdentifier_Success() throws Exception {
+        when(clientService.findByTaxIdentifier("123456789")).thenReturn(savedClientDTO);
+
+        mockMvc.perform(get("/clients/by-tax-identifier/123456789")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.taxIdentifier").value("123456789"));
+    }
+
+    @Test
+    void getClientByTaxIdentifier_NotFound() throws Exception {
+        when(clientService.findByTaxIdentifier("000")).thenThrow(new ClientNotFoundException("Client with tax identifier 000 not found"));
+
+        mockMvc.perform(get("/clients/by-tax-identifier/000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     //UPDATE CLIENT TESTS
 
     @Test
     void updateClient_Success() throws Exception {
         ClientDTO updatedClient = new ClientDTO(1L, "John Updated", "Doe Updated", "123456789", "john.updated@email.com", "+1111111111", List.of(savedDocumentDTO));
 
-        when(clientService.updateClient(eq(1L), any(ClientDTO.class))).thenReturn(updatedClient);
+        when(clientService.updateClient(eq(1L), any(ClientDTO.class), isNull())).thenReturn(updatedClient);
 
         mockMvc.perform(put("/clients/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -179,12 +333,12 @@ public class ClientControllerUnitTest {
                 .andExpect(jsonPath("$.lastName").value("Doe Updated"))
                 .andExpect(jsonPath("$.email").value("john.updated@email.com"));
 
-        verify(clientService).updateClient(eq(1L), any(ClientDTO.class));
+        verify(clientService).updateClient(eq(1L), any(ClientDTO.class), isNull());
     }
 
     @Test
     void updateClient_NotFound() throws Exception {
-        when(clientService.updateClient(eq(999L), any(ClientDTO.class)))
+        when(clientService.updateClient(eq(999L), any(ClientDTO.class), isNull()))
                 .thenThrow(new ClientNotFoundException(999L));
 
         mockMvc.perform(put("/clients/999")
@@ -192,12 +346,12 @@ public class ClientControllerUnitTest {
                 .content(mapper.writeValueAsString(inputClientDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(clientService).updateClient(eq(999L), any(ClientDTO.class));
+        verify(clientService).updateClient(eq(999L), any(ClientDTO.class), isNull());
     }
 
     @Test
     void updateClient_TaxIdentifierAlreadyExists() throws Exception {
-        when(clientService.updateClient(eq(1L), any(ClientDTO.class)))
+        when(clientService.updateClient(eq(1L), any(ClientDTO.class), isNull()))
                 .thenThrow(new ClientAlreadyExistsException("Client with tax identifier 123456789 already exists"));
 
         mockMvc.perform(put("/clients/1")
@@ -205,25 +359,151 @@ public class ClientControllerUnitTest {
                 .content(mapper.writeValueAsString(inputClientDTO)))
                 .andExpect(status().isConflict());
 
-        verify(clientService).updateClient(eq(1L), any(ClientDTO.class));
+        verify(clientService).updateClient(eq(1L), any(ClientDTO.class), isNull());
+    }
+
+    @Test
+    void updateClient_PreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        when(clientService.updateClient(eq(1L), any(ClientDTO.class), eq(2L)))
+                .thenThrow(new ClientVersionMismatchException(1L, 2L, 3L));
+
+        mockMvc.perform(put("/clients/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(inputClientDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateClient_PreconditionFailed_WhenIfMatchIsWeak() throws Exception {
+        when(clientService.updateClient(eq(1L), any(ClientDTO.class), eq(-1L)))
+                .thenThrow(new ClientVersionMismatchException(1L, -1L, 3L));
+
+        mockMvc.perform(put("/clients/1")
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(inputClientDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    //PATCH CLIENT TESTS
+
+    @Test
+    void patchClient_Success() throws Exception {
+        ClientDTO patchedClient = new ClientDTO(1L, "John", "Doe", "123456789", "new@email.com", "+1234567890", List.of(savedDocumentDTO));
+
+        when(clientService.patchClient(eq(1L), any(ClientPatchDTO.class), isNull())).thenReturn(patchedClient);
+
+        mockMvc.perform(patch("/clients/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"new@email.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("new@email.com"));
+
+        verify(clientService).patchClient(eq(1L), argThat(patch -> "new@email.com".equals(patch.getEmail()) && patch.getFirstName() == null), isNull());
+    }
+
+    @Test
+    void patchClient_NotFound() throws Exception {
+        when(clientService.patchClient(eq(999L), any(ClientPatchDTO.class), isNull()))
+                .thenThrow(new ClientNotFoundException(999L));
+
+        mockMvc.perform(patch("/clients/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"new@email.com\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    //DOCUMENT TESTS
+
+    @Test
+    void addDocument_Success() throws Exception {
+        when(clientService.addDocument(eq(1L), any(DocumentDTO.class), eq(null))).thenReturn(new ClientDocumentDTO(savedDocumentDTO, 4L));
+
+        mockMvc.perform(post("/clients/1/documents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(documentDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/clients/1/documents/1"))
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void addDocument_ReturnsPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        when(clientService.addDocument(eq(1L), any(DocumentDTO.class), eq(2L))).thenThrow(new ClientVersionMismatchException(1L, 2L, 3L));
+
+        mockMvc.perform(post("/clients/1/documents")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(documentDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void addDocument_ClientNotFound() throws Exception {
+        when(clientService.addDocument(eq(999L), any(DocumentDTO.class), eq(null))).thenThrow(new ClientNotFoundException(999L));
+
+        mockMvc.perform(post("/clients/999/documents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(documentDTO)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateDocument_Success() throws Exception {
+        when(clientService.updateDocument(eq(1L), eq(1L), any(DocumentDTO.class), eq(3L))).thenReturn(new ClientDocumentDTO(savedDocumentDTO, 4L));
+
+        mockMvc.perform(put("/clients/1/documents/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(documentDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.number").value("P123456"));
+    }
+
+    @Test
+    void deleteDocument_ReturnsNewClientETag() throws Exception {
+        when(clientService.deleteDocument(1L, 1L, null)).thenReturn(4L);
+
+        mockMvc.perform(delete("/clients/1/documents/1"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void deleteDocument_NotFound() throws Exception {
+        doThrow(new DocumentNotFoundException(1L, 5L)).when(clientService).deleteDocument(1L, 5L, null);
+
+        mockMvc.perform(delete("/clients/1/documents/5"))
+                .andExpect(status().isNotFound());
     }
 
     //DELETE CLIENT TESTS
 
     @Test
     void deleteClient_Success() throws Exception {
-        doNothing().when(clientService).deleteById(1L);
+        doNothing().when(clientService).deleteById(1L, null);
 
         mockMvc.perform(delete("/clients/1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(clientService).deleteById(1L);
+        verify(clientService).deleteById(1L, null);
+    }
+
+    @Test
+    void deleteClient_WithIfMatch() throws Exception {
+        mockMvc.perform(delete("/clients/1").header("If-Match", "\"3\""))
+                .andExpect(status().isNoContent());
+
+        verify(clientService).deleteById(1L, 3L);
     }
 
     @Test
     void deleteClient_NotFound() throws Exception {
-        doThrow(new ClientNotFoundException(999L)).when(clientService).deleteById(999L);
+        doThrow(new ClientNotFoundException(999L)).when(clientService).deleteById(999L, null);
 
         mockMvc.perform(delete("/clients/999")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -0,0 +1,125 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ClientService.class)
+public class ClientFetchPlanIntegrationTest {
+
+    private static final int CLIENTS = 20;
+
+    @Autowired
+    private ClientService clientService;
+
+    @MockitoBean
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @MockitoBean
+    private ClientMetrics clientMetrics;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstId;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client("John" + i, "Doe", "TAX" + i, "john" + i + "@email.com", "+1234567890");
+            client.addDocument(new Document("passport", "P" + i, "Valid passport", LocalDate.now().plusYears(5), client));
+            client.addDocument(new Document("id-card", "C" + i, "Valid id card", LocalDate.now().plusYears(2), client));
+            entityManager.persist(client);
+            if (firstId == null) {
+                firstId = client.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_LoadsClientsAndDocumentsInOneStatement() {
+        assertThat(clientService.findAll()).hasSize(CLIENTS);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_LoadsClientAndDocumentsInOneStatement() {
+        assertThat(clientService.findById(firstId).getDocuments()).hasSize(2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findPage_ReadsProjectionsWithoutLoadingEntities() {
+        assertThat(clientService.findPage(null, CLIENTS, true).getContent())
+                .hasSize(CLIENTS)
+                .allSatisfy(client -> assertThat(client.getDocuments()).hasSize(2));
+
+        // one statement for the page, one for all of its documents
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void streamAll_ReadsProjectionsAndDocumentsPerChunk() {
+        List<ClientDTO> streamed = new ArrayList<>();
+
+        clientService.streamAll(streamed::add);
+
+        assertThat(streamed).hasSize(CLIENTS).allSatisfy(client -> assertThat(client.getDocuments()).hasSize(2));
+        // all clients fit in one chunk: one statement for the clients, one for their documents
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void updateClient_WritesOnlyChangedDocuments() {
+        ClientDTO client = clientService.findById(firstId);
+        client.getDocuments().get(0).setDescription("Renewed passport");
+        statistics.clear();
+
+        clientService.updateClient(firstId, client, null);
+
+        EntityStatistics documents = statistics.getEntityStatistics(Document.class.getName());
+        assertThat(documents.getUpdateCount()).isEqualTo(1);
+        assertThat(documents.getInsertCount()).isZero();
+        assertThat(documents.getDeleteCount()).isZero();
+    }
+}
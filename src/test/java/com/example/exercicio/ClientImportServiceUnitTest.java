@@ -0,0 +1,173 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.BulkImportResultDTO;
+import com.example.exercicio.dto.BulkImportRowDTO;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.service.ClientImportService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClientImportServiceUnitTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ClientImportService clientImportService;
+
+    @BeforeEach
+    void setup() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+
+        AtomicLong ids = new AtomicLong();
+        lenient().doAnswer(invocation -> {
+            Client client = invocation.getArgument(0);
+            client.setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Client.class));
+    }
+
+    private static DataIntegrityViolationException taxIdentifierViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "PUBLIC.UK_CLIENTS_TAX_IDENTIFIER_INDEX_1"));
+    }
+
+    private static ClientDTO client(String taxIdentifier) {
+        return new ClientDTO(null, "John", "Doe", taxIdentifier, "john.doe@email.com", "+1234567890", new ArrayList<>());
+    }
+
+    @Test
+    void importClients_ReportsCreatedDuplicateAndInvalidRows() {
+        // Given
+        when(clientRepository.findExistingTaxIdentifiers(Set.of("111", "222"))).thenReturn(Set.of("222"));
+        List<ClientDTO> input = List.of(client("111"), client("222"), client("111"), client(null));
+
+        // When
+        BulkImportResultDTO result = clientImportService.importClients(input.iterator());
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getRows()).extracting(BulkImportRowDTO::getIndex, BulkImportRowDTO::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(0, BulkImportRowDTO.Status.CREATED),
+                        tuple(1, BulkImportRowDTO.Status.DUPLICATE),
+                        tuple(2, BulkImportRowDTO.Status.DUPLICATE),
+                        tuple(3, BulkImportRowDTO.Status.INVALID));
+
+        verify(entityManager, times(1)).persist(any(Client.class));
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void importClients_ProbesOncePerChunk() {
+        // Given
+        ReflectionTestUtils.setField(clientImportService, "chunkSize", 2);
+        when(clientRepository.findExistingTaxIdentifiers(anySet())).thenReturn(Set.of());
+        List<ClientDTO> input = List.of(client("1"), client("2"), client("3"), client("4"), client("5"));
+
+        // When
+        BulkImportResultDTO result = clientImportService.importClients(input.iterator());
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(5);
+        assertThat(result.getRows()).extracting(BulkImportRowDTO::getId).doesNotContainNull();
+        verify(clientRepository, times(3)).findExistingTaxIdentifiers(anySet());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void importClients_RetriesChunk_WhenAConcurrentInsertTakesATaxIdentifier() {
+        // Given: "222" is inserted by another request between the probe and the flush
+        when(clientRepository.findExistingTaxIdentifiers(Set.of("111", "222")))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("222"));
+        doThrow(taxIdentifierViolation()).doNothing().when(entityManager).flush();
+
+        // When
+        BulkImportResultDTO result = clientImportService.importClients(List.of(client("111"), client("222")).iterator());
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(result.getRows()).extracting(BulkImportRowDTO::getIndex, BulkImportRowDTO::getStatus)
+                .containsExactly(
+                        tuple(0, BulkImportRowDTO.Status.CREATED),
+                        tuple(1, BulkImportRowDTO.Status.DUPLICATE));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void importClients_ReportsChunkAsFailed_WhenRetryConflictsAgain() {
+        // Given
+        ReflectionTestUtils.setField(clientImportService, "chunkSize", 2);
+        when(clientRepository.findExistingTaxIdentifiers(anySet())).thenReturn(Set.of());
+        doThrow(taxIdentifierViolation()).doThrow(taxIdentifierViolation()).doNothing().when(entityManager).flush();
+
+        // When
+        BulkImportResultDTO result = clientImportService.importClients(List.of(client("1"), client("2"), client("3")).iterator());
+
+        // Then: only the rows of the committed second chunk count as created
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getRows()).extracting(BulkImportRowDTO::getIndex, BulkImportRowDTO::getStatus)
+                .containsExactly(
+                        tuple(0, BulkImportRowDTO.Status.FAILED),
+                        tuple(1, BulkImportRowDTO.Status.FAILED),
+                        tuple(2, BulkImportRowDTO.Status.CREATED));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void importClients_Rethrows_WhenFlushFailsForAnotherReason() {
+        // Given
+        when(clientRepository.findExistingTaxIdentifiers(anySet())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("value too long")).when(entityManager).flush();
+
+        // When / Then
+        assertThatThrownBy(() -> clientImportService.importClients(List.of(client("1")).iterator()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+}
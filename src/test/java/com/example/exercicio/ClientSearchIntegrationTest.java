@@ -0,0 +1,206 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.ClientSearchCriteria;
+import com.example.exercicio.dto.ClientSearchPageDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ClientService.class)
+public class ClientSearchIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @MockitoBean
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @MockitoBean
+    private ClientMetrics clientMetrics;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        persist("Ana", "Silva", "ana@email.com", new Document("passport", "P1", "Passport", LocalDate.of(2026, 1, 10), null));
+        persist("Bruno", "Silva", "bruno@email.com", new Document("id-card", "C2", "Id card", LocalDate.of(2026, 1, 20), null));
+        persist("Carla", "Sousa", "carla@email.com",
+                new Document("passport", "P3", "Passport", LocalDate.of(2030, 5, 1), null),
+                new Document("passport", "P4", "Old passport", LocalDate.of(2026, 2, 1), null));
+        persist("Diogo", "Santos", "diogo_x@email.com");
+        persist("Eva", "S_ntos", "eva@email.com");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String firstName, String lastName, String email, Document... documents) {
+        Client client = new Client(firstName, lastName, "TAX-" + firstName, email, "+351900000000");
+        for (Document document : documents) {
+            client.addDocument(document);
+        }
+        entityManager.persist(client);
+    }
+
+    private static List<String> firstNames(ClientSearchPageDTO page) {
+        return page.getContent().stream().map(ClientDTO::getFirstName).toList();
+    }
+
+    @Test
+    void search_FiltersByLastNamePrefix() {
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, "Si", null, null, null, null);
+
+        ClientSearchPageDTO page = clientService.search(criteria, Sort.by("firstName"), null, 10, true);
+
+        assertThat(firstNames(page)).containsExactly("Ana", "Bruno");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void search_TreatsLikeWildcardsLiterally() {
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, "S_", null, null, null, null);
+
+        assertThat(firstNames(clientService.search(criteria, Sort.by("id"), null, 10, true))).containsExactly("Eva");
+    }
+
+    @Test
+    void search_FiltersByExactEmail() {
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, null, "diogo_x@email.com", null, null, null);
+
+        assertThat(firstNames(clientService.search(criteria, Sort.by("id"), null, 10, true))).containsExactly("Diogo");
+    }
+
+    @Test
+    void search_MatchesDocumentTypeAndExpirationOnTheSameDocument() {
+        // Carla has a passport expiring in 2030 and another in 2026; each client is returned once
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, null, null, "passport",
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+
+        ClientSearchPageDTO page = clientService.search(criteria, Sort.by("firstName"), null, 10, true);
+
+        assertThat(firstNames(page)).containsExactly("Ana", "Carla");
+        assertThat(page.getContent().get(1).getDocuments()).hasSize(2);
+    }
+
+    @Test
+    void search_SelectsSummariesWithoutLoadingEntities() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, "S", null, null, null, null);
+        statistics.clear();
+
+        ClientSearchPageDTO withoutDocuments = clientService.search(criteria, Sort.by("firstName"), null, 10, false);
+
+        assertThat(firstNames(withoutDocuments)).containsExactly("Ana", "Bruno", "Carla", "Diogo", "Eva");
+        assertThat(withoutDocuments.getContent()).allSatisfy(client -> assertThat(client.getDocuments()).isNull());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        ClientSearchPageDTO withDocuments = clientService.search(criteria, Sort.by("firstName"), null, 10, true);
+
+        assertThat(withDocuments.getContent().get(2).getDocuments()).hasSize(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void search_ScrollsThroughPagesInRequestedOrder() {
+        ClientSearchCriteria criteria = new ClientSearchCriteria(null, "S", null, null, null, null);
+        Sort sort = Sort.by(Sort.Direction.DESC, "lastName");
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ClientSearchPageDTO page = clientService.search(criteria, sort, cursor, 2, true);
+            names.addAll(firstNames(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Sousa, Silva (Ana, Bruno by id), Santos, S_ntos
+        assertThat(names).containsExactly("Carla", "Ana", "Bruno", "Diogo", "Eva");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    private List<String> scrollAll(ClientSearchCriteria criteria, Sort sort, int pageSize) {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            ClientSearchPageDTO page = clientService.search(criteria, sort, cursor, pageSize, false);
+            page.getContent().forEach(client -> names.add(client.getTaxIdentifier()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return names;
+    }
+
+    @Test
+    void search_ScrollsOverNullNamesWithoutSkippingOrRepeating() {
+        // Given: clients without a first name, placed around the named ones
+        entityManager.persist(new Client(null, "Nul", "TAX-null-1", "null1@email.com", "+351900000000"));
+        entityManager.persist(new Client(null, "Nul", "TAX-null-2", "null2@email.com", "+351900000000"));
+        entityManager.persist(new Client(null, "Nul", "TAX-null-3", "null3@email.com", "+351900000000"));
+        entityManager.flush();
+        entityManager.clear();
+        ClientSearchCriteria all = new ClientSearchCriteria(null, null, null, null, null, null);
+
+        // When: every page boundary falls on a different pair of rows
+        List<String> ascending = scrollAll(all, Sort.by("firstName"), 2);
+        List<String> descending = scrollAll(all, Sort.by(Sort.Direction.DESC, "firstName"), 2);
+
+        // Then: null names sort as the smallest value in both directions
+        assertThat(ascending).containsExactly("TAX-null-1", "TAX-null-2", "TAX-null-3",
+                "TAX-Ana", "TAX-Bruno", "TAX-Carla", "TAX-Diogo", "TAX-Eva");
+        assertThat(descending).containsExactly("TAX-Eva", "TAX-Diogo", "TAX-Carla", "TAX-Bruno", "TAX-Ana",
+                "TAX-null-1", "TAX-null-2", "TAX-null-3");
+    }
+
+    @Test
+    void search_RejectsMalformedOrCraftedCursors() {
+        ClientSearchCriteria all = new ClientSearchCriteria(null, null, null, null, null, null);
+        Sort byFirstName = Sort.by("firstName");
+
+        assertThat(List.of(
+                "not base64!",
+                cursor("null"),
+                cursor("[1, 2]"),
+                cursor("{\"id\": 1}"),
+                cursor("{\"lastName\": \"Silva\", \"id\": 1}"),
+                cursor("{\"firstName\": 5, \"id\": 1}"),
+                cursor("{\"firstName\": \"Ana\", \"id\": \"1\"}"),
+                cursor("{\"firstName\": \"Ana\", \"id\": 1.5}"),
+                cursor("{\"firstName\": \"Ana\", \"id\": 1, \"email\": \"x\"}")))
+                .allSatisfy(cursor -> assertThatThrownBy(() -> clientService.search(all, byFirstName, cursor, 2, false))
+                        .isInstanceOf(IllegalArgumentException.class));
+    }
+
+    private static String cursor(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs without the test transaction: pending inserts would keep the query cache invalidated until commit
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ClientService.class)
+public class ClientSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @MockitoBean
+    private ClientMetrics clientMetrics;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Client client = new Client("John", "Doe", "L2-123456789", "john.doe@email.com", "+1234567890");
+            client.addDocument(new Document("passport", "P123456", "Valid passport", LocalDate.now().plusYears(5), client));
+            clientRepository.save(client);
+        });
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> clientRepository.deleteAll());
+    }
+
+    @Test
+    void findByTaxIdentifier_SecondReadIsServedFromCaches() {
+        ClientDTO first = clientService.findByTaxIdentifier("L2-123456789");
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        assertThat(statementsAfterFirstRead).isPositive();
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+
+        ClientDTO second = clientService.findByTaxIdentifier("L2-123456789");
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getDocuments()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("clients").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("clients-documents").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("documents").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_EntityGraphLoadIsServedFromEntityRegions() {
+        Long id = clientRepository.findAll().get(0).getId();
+        // findAll above already populated the regions
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+
+        ClientDTO first = clientService.findById(id);
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        assertThat(statementsAfterFirstRead).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("clients").getPutCount()).isEqualTo(1);
+
+        ClientDTO second = clientService.findById(id);
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getDocuments()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getDomainDataRegionStatistics("clients").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("clients-documents").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("documents").getHitCount()).isEqualTo(1);
+    }
+}
@@ -1,26 +1,49 @@
 package com.example.exercicio;
 
+import com.example.exercicio.config.CacheConfig;
 import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.ClientDocumentDTO;
+import com.example.exercicio.dto.ClientPageDTO;
+import com.example.exercicio.dto.ClientPatchDTO;
 import com.example.exercicio.dto.DocumentDTO;
 import com.example.exercicio.exception.ClientAlreadyExistsException;
 import com.example.exercicio.exception.ClientNotFoundException;
+import com.example.exercicio.exception.ClientVersionMismatchException;
+import com.example.exercicio.exception.DocumentNotFoundException;
 import com.example.exercicio.model.Client;
 import com.example.exercicio.model.Document;
 import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.repository.DocumentRepository;
+import com.example.exercicio.repository.DocumentRow;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientChangeEvent;
+import com.example.exercicio.service.ClientMetrics;
 import com.example.exercicio.service.ClientService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,6 +53,24 @@ public class ClientServiceUnitTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @Mock
+    private ClientMetrics clientMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -38,6 +79,11 @@ public class ClientServiceUnitTest {
     private DocumentDTO documentDTO;
     private Document document;
 
+    private static DataIntegrityViolationException taxIdentifierViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), "PUBLIC.UK_CLIENTS_TAX_IDENTIFIER_INDEX_1"));
+    }
+
     @BeforeEach
     void setup() {
         // Create test data
@@ -59,8 +105,7 @@ public class ClientServiceUnitTest {
     @Test
     void saveClient_Success() {
         // Given
-        when(clientRepository.findByTaxIdentifier("123456789")).thenReturn(Optional.empty());
-        when(clientRepository.save(any(Client.class))).thenReturn(savedClient);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(savedClient);
 
         // When
         ClientDTO result = clientService.saveClient(inputClientDTO);
@@ -76,23 +121,35 @@ public class ClientServiceUnitTest {
         assertThat(result.getDocuments()).hasSize(1);
         assertThat(result.getDocuments().get(0).getType()).isEqualTo("passport");
 
-        verify(clientRepository).findByTaxIdentifier("123456789");
-        verify(clientRepository).save(any(Client.class));
+        verify(clientRepository, never()).findByTaxIdentifier(anyString());
+        verify(clientRepository).saveAndFlush(any(Client.class));
+        verify(clientMetrics).documents(1);
     }
 
     @Test
     void saveClient_ThrowsClientAlreadyExistsException_WhenTaxIdentifierExists() {
         // Given
-        Client existingClient = new Client("Jane", "Smith", "123456789", "jane@email.com", "+0987654321");
-        when(clientRepository.findByTaxIdentifier("123456789")).thenReturn(Optional.of(existingClient));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(taxIdentifierViolation());
 
         // When & Then
         assertThatThrownBy(() -> clientService.saveClient(inputClientDTO))
                 .isInstanceOf(ClientAlreadyExistsException.class)
                 .hasMessage("Client with tax identifier 123456789 already exists");
 
-        verify(clientRepository).findByTaxIdentifier("123456789");
-        verify(clientRepository, never()).save(any(Client.class));
+        verify(clientRepository, never()).findByTaxIdentifier(anyString());
+        verify(clientMetrics).conflict();
+    }
+
+    @Test
+    void saveClient_RethrowsOtherConstraintViolations() {
+        // Given
+        DataIntegrityViolationException otherViolation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException("not null"), "NOT_NULL_FIRST_NAME"));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(otherViolation);
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.saveClient(inputClientDTO))
+                .isSameAs(otherViolation);
     }
 
     @Test
@@ -103,8 +160,7 @@ public class ClientServiceUnitTest {
         savedClientWithoutDocs.setId(1L);
         savedClientWithoutDocs.setDocuments(new ArrayList<>());
 
-        when(clientRepository.findByTaxIdentifier("123456789")).thenReturn(Optional.empty());
-        when(clientRepository.save(any(Client.class))).thenReturn(savedClientWithoutDocs);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(savedClientWithoutDocs);
 
         // When
         ClientDTO result = clientService.saveClient(clientWithoutDocs);
@@ -112,7 +168,7 @@ public class ClientServiceUnitTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getDocuments()).isEmpty();
-        verify(clientRepository).save(any(Client.class));
+        verify(clientRepository).saveAndFlush(any(Client.class));
     }
 
     // ==================== FIND ALL TESTS ====================
@@ -153,6 +209,93 @@ public class ClientServiceUnitTest {
         verify(clientRepository).findAll();
     }
 
+    // FIND PAGE TESTS
+
+    @Test
+    void findPage_ReturnsNextCursor_WhenMoreRowsExist() {
+        // Given
+        ClientDTO client1 = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890");
+        ClientDTO client2 = new ClientDTO(2L, "Jane", "Smith", "987654321", "jane@email.com", "+0987654321");
+        when(clientRepository.findDtoPageAfter(0L, Limit.of(2))).thenReturn(new ArrayList<>(Arrays.asList(client1, client2)));
+        when(clientRepository.findDocumentRowsByClientIds(Set.of(1L))).thenReturn(List.of(
+                new DocumentRow(1L, 1L, "passport", "P123456", "Valid passport", LocalDate.now().plusYears(5))));
+
+        // When
+        ClientPageDTO result = clientService.findPage(null, 1, true);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getId()).isEqualTo(1L);
+        assertThat(result.getContent().get(0).getDocuments()).hasSize(1);
+        assertThat(result.getContent().get(0).getDocuments().get(0).getType()).isEqualTo("passport");
+        assertThat(result.getNextCursor()).isEqualTo(1L);
+    }
+
+    @Test
+    void findPage_ReturnsNoCursor_OnLastPage() {
+        // Given
+        ClientDTO client1 = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890");
+        when(clientRepository.findDtoPageAfter(0L, Limit.of(11))).thenReturn(new ArrayList<>(List.of(client1)));
+        when(clientRepository.findDocumentRowsByClientIds(Set.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        ClientPageDTO result = clientService.findPage(0L, 10, true);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getDocuments()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_SkipsDocumentQuery_WhenPageIsEmpty() {
+        // Given
+        when(clientRepository.findDtoPageAfter(5L, Limit.of(11))).thenReturn(new ArrayList<>());
+
+        // When
+        ClientPageDTO result = clientService.findPage(5L, 10, true);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verify(clientRepository, never()).findDocumentRowsByClientIds(any());
+    }
+
+    @Test
+    void findPage_SkipsDocumentQuery_WhenDocumentsAreNotIncluded() {
+        // Given
+        ClientDTO client = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890");
+        when(clientRepository.findDtoPageAfter(0L, Limit.of(11))).thenReturn(new ArrayList<>(List.of(client)));
+
+        // When
+        ClientPageDTO result = clientService.findPage(null, 10, false);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getDocuments()).isNull();
+        verify(clientRepository, never()).findDocumentRowsByClientIds(any());
+    }
+
+    @Test
+    void streamAll_AttachesDocumentsPerChunk() {
+        // Given
+        when(clientRepository.streamDtos()).thenReturn(Stream.of(
+                new ClientDTO(1L, "John", "Doe", "123", "john.doe@email.com", "+1234567890"),
+                new ClientDTO(2L, "Jane", "Doe", "456", "jane.doe@email.com", "+1234567890")));
+        when(clientRepository.findDocumentRowsByClientIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new DocumentRow(1L, 10L, "passport", "P1", "Valid passport", LocalDate.now().plusYears(5))));
+        List<ClientDTO> streamed = new ArrayList<>();
+
+        // When
+        clientService.streamAll(streamed::add);
+
+        // Then
+        assertThat(streamed).extracting(ClientDTO::getId).containsExactly(1L, 2L);
+        assertThat(streamed.get(0).getDocuments()).extracting(DocumentDTO::getId).containsExactly(10L);
+        assertThat(streamed.get(1).getDocuments()).isEmpty();
+        verify(clientRepository, times(1)).findDocumentRowsByClientIds(any());
+    }
+
     //FIND BY ID TESTS
 
     @Test
@@ -181,10 +324,54 @@ public class ClientServiceUnitTest {
         assertThatThrownBy(() -> clientService.findById(999L))
                 .isInstanceOf(ClientNotFoundException.class)
                 .hasMessage("Client with id 999 not found");
+        verify(clientMetrics).notFound();
 
         verify(clientRepository).findById(999L);
     }
 
+    @Test
+    void findById_CachesPrimaryRead() {
+        // Given
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.CLIENTS_BY_ID);
+        when(cacheManager.getCache(CacheConfig.CLIENTS_BY_ID)).thenReturn(cache);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+
+        // When
+        ClientDTO first = clientService.findById(1L);
+        ClientDTO second = clientService.findById(1L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.get(1L, ClientDTO.class)).isSameAs(first);
+        verify(clientRepository, times(1)).findById(1L);
+    }
+
+    //FIND BY TAX IDENTIFIER TESTS
+
+    @Test
+    void findByTaxIdentifier_Success() {
+        // Given
+        when(clientRepository.findByTaxIdentifier("123456789")).thenReturn(Optional.of(savedClient));
+
+        // When
+        ClientDTO result = clientService.findByTaxIdentifier("123456789");
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getTaxIdentifier()).isEqualTo("123456789");
+    }
+
+    @Test
+    void findByTaxIdentifier_ThrowsClientNotFoundException() {
+        // Given
+        when(clientRepository.findByTaxIdentifier("000")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.findByTaxIdentifier("000"))
+                .isInstanceOf(ClientNotFoundException.class)
+                .hasMessage("Client with tax identifier 000 not found");
+    }
+
     //UPDATE CLIENT TESTS
 
     @Test
@@ -200,10 +387,10 @@ public class ClientServiceUnitTest {
         updatedClient.getDocuments().add(updatedDoc);
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
-        when(clientRepository.save(any(Client.class))).thenReturn(updatedClient);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(updatedClient);
 
         // When
-        ClientDTO result = clientService.updateClient(1L, updateDTO);
+        ClientDTO result = clientService.updateClient(1L, updateDTO, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -213,7 +400,7 @@ public class ClientServiceUnitTest {
         assertThat(result.getPhoneNumber()).isEqualTo("+1111111111");
 
         verify(clientRepository).findById(1L);
-        verify(clientRepository).save(any(Client.class));
+        verify(clientRepository).saveAndFlush(any(Client.class));
     }
 
     @Test
@@ -222,12 +409,12 @@ public class ClientServiceUnitTest {
         when(clientRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> clientService.updateClient(999L, inputClientDTO))
+        assertThatThrownBy(() -> clientService.updateClient(999L, inputClientDTO, null))
                 .isInstanceOf(ClientNotFoundException.class)
                 .hasMessage("Client with id 999 not found");
 
         verify(clientRepository).findById(999L);
-        verify(clientRepository, never()).save(any(Client.class));
+        verify(clientRepository, never()).saveAndFlush(any(Client.class));
     }
 
     @Test
@@ -235,20 +422,16 @@ public class ClientServiceUnitTest {
         // Given
         ClientDTO updateDTO = new ClientDTO(1L, "John", "Doe", "987654321", "john@email.com", "+1234567890", List.of(documentDTO));
 
-        Client otherClient = new Client("Other", "Client", "987654321", "other@email.com", "+0000000000");
-        otherClient.setId(2L);
-
         when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
-        when(clientRepository.findByTaxIdentifier("987654321")).thenReturn(Optional.of(otherClient));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(taxIdentifierViolation());
 
         // When & Then
-        assertThatThrownBy(() -> clientService.updateClient(1L, updateDTO))
+        assertThatThrownBy(() -> clientService.updateClient(1L, updateDTO, null))
                 .isInstanceOf(ClientAlreadyExistsException.class)
                 .hasMessage("Client with tax identifier 987654321 already exists");
 
         verify(clientRepository).findById(1L);
-        verify(clientRepository).findByTaxIdentifier("987654321");
-        verify(clientRepository, never()).save(any(Client.class));
+        verify(clientRepository, never()).findByTaxIdentifier(anyString());
     }
 
     @Test
@@ -257,16 +440,16 @@ public class ClientServiceUnitTest {
         ClientDTO updateDTO = new ClientDTO(1L, "John Updated", "Doe Updated", "123456789", "john.updated@email.com", "+1111111111", List.of(documentDTO));
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
-        when(clientRepository.save(any(Client.class))).thenReturn(savedClient);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(savedClient);
 
         // When
-        ClientDTO result = clientService.updateClient(1L, updateDTO);
+        ClientDTO result = clientService.updateClient(1L, updateDTO, null);
 
         // Then
         assertThat(result).isNotNull();
         verify(clientRepository).findById(1L);
         verify(clientRepository, never()).findByTaxIdentifier(anyString());
-        verify(clientRepository).save(any(Client.class));
+        verify(clientRepository).saveAndFlush(any(Client.class));
     }
 
     @Test
@@ -275,17 +458,224 @@ public class ClientServiceUnitTest {
         ClientDTO updateDTO = new ClientDTO(1L, "John", "Doe", "NEW_TAX_ID", "john@email.com", "+1234567890", List.of(documentDTO));
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
-        when(clientRepository.findByTaxIdentifier("NEW_TAX_ID")).thenReturn(Optional.empty());
-        when(clientRepository.save(any(Client.class))).thenReturn(savedClient);
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(savedClient);
 
         // When
-        ClientDTO result = clientService.updateClient(1L, updateDTO);
+        ClientDTO result = clientService.updateClient(1L, updateDTO, null);
 
         // Then
         assertThat(result).isNotNull();
         verify(clientRepository).findById(1L);
-        verify(clientRepository).findByTaxIdentifier("NEW_TAX_ID");
-        verify(clientRepository).save(any(Client.class));
+        verify(clientRepository, never()).findByTaxIdentifier(anyString());
+        verify(clientRepository).saveAndFlush(any(Client.class));
+        verify(clientCacheEvictor).evict(1L, "123456789", "NEW_TAX_ID");
+    }
+
+    @Test
+    void updateClient_DiffsDocumentsById() {
+        // Given
+        DocumentDTO changed = new DocumentDTO(1L, "passport", "P123456", "Renewed passport", LocalDate.now().plusYears(10));
+        DocumentDTO added = new DocumentDTO(null, "id-card", "C123", "Id card", LocalDate.now().plusYears(2));
+        ClientDTO updateDTO = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890", List.of(changed, added));
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+        when(clientRepository.saveAndFlush(savedClient)).thenReturn(savedClient);
+
+        // When
+        ClientDTO result = clientService.updateClient(1L, updateDTO, null);
+
+        // Then
+        assertThat(savedClient.getDocuments()).hasSize(2);
+        assertThat(savedClient.getDocuments().get(0)).isSameAs(document);
+        assertThat(document.getDescription()).isEqualTo("Renewed passport");
+        assertThat(savedClient.getDocuments().get(1).getId()).isNull();
+        assertThat(result.getDocuments()).extracting(DocumentDTO::getNumber).containsExactly("P123456", "C123");
+    }
+
+    @Test
+    void updateClient_RemovesDocumentsMissingFromRequest() {
+        // Given
+        ClientDTO updateDTO = new ClientDTO(1L, "John", "Doe", "123456789", "john.doe@email.com", "+1234567890", List.of());
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+        when(clientRepository.saveAndFlush(savedClient)).thenReturn(savedClient);
+
+        // When
+        ClientDTO result = clientService.updateClient(1L, updateDTO, null);
+
+        // Then
+        assertThat(savedClient.getDocuments()).isEmpty();
+        assertThat(result.getDocuments()).isEmpty();
+    }
+
+    @Test
+    void updateClient_ThrowsClientVersionMismatchException_WhenIfMatchIsStale() {
+        // Given
+        savedClient.setVersion(3L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.updateClient(1L, inputClientDTO, 2L))
+                .isInstanceOf(ClientVersionMismatchException.class)
+                .hasMessage("Client with id 1 is at version 3, expected 2");
+
+        verify(clientRepository, never()).saveAndFlush(any(Client.class));
+        verifyNoInteractions(clientCacheEvictor);
+    }
+
+    @Test
+    void updateClient_ReturnsVersion() {
+        // Given
+        savedClient.setVersion(4L);
+        DocumentDTO unchanged = new DocumentDTO(1L, document.getType(), document.getNumber(), document.getDescription(), document.getExpirationDate());
+        ClientDTO updateDTO = new ClientDTO(1L, "John", "Doe", "123456789", "other@email.com", "+1234567890", List.of(unchanged));
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+        when(clientRepository.saveAndFlush(savedClient)).thenReturn(savedClient);
+
+        // When
+        ClientDTO result = clientService.updateClient(1L, updateDTO, 4L);
+
+        // Then
+        assertThat(result.getVersion()).isEqualTo(4L);
+        // documents did not change, so the version is only moved by the update of the client row
+        verifyNoInteractions(entityManager);
+    }
+
+    //PATCH CLIENT TESTS
+
+    @Test
+    void patchClient_ChangesOnlyGivenFields() {
+        // Given
+        ClientPatchDTO patch = new ClientPatchDTO(null, null, null, "new@email.com", null);
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+        when(clientRepository.saveAndFlush(savedClient)).thenReturn(savedClient);
+
+        // When
+        ClientDTO result = clientService.patchClient(1L, patch, null);
+
+        // Then
+        assertThat(result.getEmail()).isEqualTo("new@email.com");
+        assertThat(result.getFirstName()).isEqualTo("John");
+        assertThat(result.getTaxIdentifier()).isEqualTo("123456789");
+        assertThat(result.getDocuments()).hasSize(1);
+        verify(clientCacheEvictor).evict(1L, "123456789", "123456789");
+    }
+
+    @Test
+    void patchClient_ThrowsClientAlreadyExistsException_WhenTaxIdentifierExists() {
+        // Given
+        ClientPatchDTO patch = new ClientPatchDTO(null, null, "987654321", null, null);
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+        when(clientRepository.saveAndFlush(savedClient)).thenThrow(taxIdentifierViolation());
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.patchClient(1L, patch, null))
+                .isInstanceOf(ClientAlreadyExistsException.class);
+
+        verifyNoInteractions(clientCacheEvictor);
+    }
+
+    //DOCUMENT TESTS
+
+    @Test
+    void addDocument_Success() {
+        // Given
+        savedClient.setVersion(3L);
+        when(entityManager.find(Client.class, 1L)).thenReturn(savedClient);
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+
+        // When
+        ClientDocumentDTO result = clientService.addDocument(1L, documentDTO, 3L);
+
+        // Then
+        assertThat(result.getDocument().getId()).isEqualTo(2L);
+        assertThat(result.getDocument().getNumber()).isEqualTo("P123456");
+        assertThat(result.getClientVersion()).isEqualTo(3L);
+        verify(clientRepository, never()).findById(anyLong());
+        verify(entityManager).lock(savedClient, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        verify(clientCacheEvictor).evict(1L, "123456789");
+    }
+
+    @Test
+    void addDocument_ThrowsClientVersionMismatchException_WhenIfMatchIsStale() {
+        // Given
+        savedClient.setVersion(3L);
+        when(entityManager.find(Client.class, 1L)).thenReturn(savedClient);
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.addDocument(1L, documentDTO, 2L))
+                .isInstanceOf(ClientVersionMismatchException.class);
+
+        verify(documentRepository, never()).save(any(Document.class));
+        verifyNoInteractions(clientCacheEvictor, eventPublisher);
+    }
+
+    @Test
+    void addDocument_ThrowsClientNotFoundException() {
+        // When & Then
+        assertThatThrownBy(() -> clientService.addDocument(999L, documentDTO, null))
+                .isInstanceOf(ClientNotFoundException.class);
+
+        verify(documentRepository, never()).save(any(Document.class));
+    }
+
+    @Test
+    void updateDocument_Success() {
+        // Given
+        DocumentDTO update = new DocumentDTO(null, "passport", "P999", "Renewed passport", LocalDate.now().plusYears(10));
+        when(documentRepository.findByIdAndClientId(1L, 1L)).thenReturn(Optional.of(document));
+
+        // When
+        ClientDocumentDTO result = clientService.updateDocument(1L, 1L, update, null);
+
+        // Then
+        assertThat(result.getDocument().getId()).isEqualTo(1L);
+        assertThat(document.getNumber()).isEqualTo("P999");
+        verify(clientCacheEvictor).evict(1L, "123456789");
+    }
+
+    @Test
+    void updateDocument_ThrowsDocumentNotFoundException() {
+        // Given
+        when(documentRepository.findByIdAndClientId(5L, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.updateDocument(1L, 5L, documentDTO, null))
+                .isInstanceOf(DocumentNotFoundException.class)
+                .hasMessage("Document with id 5 not found for client 1");
+    }
+
+    @Test
+    void deleteDocument_Success() {
+        // Given
+        when(documentRepository.findByIdAndClientId(1L, 1L)).thenReturn(Optional.of(document));
+
+        // When
+        clientService.deleteDocument(1L, 1L, null);
+
+        // Then
+        verify(documentRepository).delete(document);
+        verify(clientCacheEvictor).evict(1L, "123456789");
+    }
+
+    @Test
+    void deleteDocument_ThrowsClientVersionMismatchException_WhenIfMatchIsStale() {
+        // Given
+        savedClient.setVersion(3L);
+        when(documentRepository.findByIdAndClientId(1L, 1L)).thenReturn(Optional.of(document));
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.deleteDocument(1L, 1L, 2L))
+                .isInstanceOf(ClientVersionMismatchException.class);
+
+        verify(documentRepository, never()).delete(any(Document.class));
     }
 
     //DELETE CLIENT TESTS
@@ -293,27 +683,47 @@ public class ClientServiceUnitTest {
     @Test
     void deleteById_Success() {
         // Given
-        when(clientRepository.existsById(1L)).thenReturn(true);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
 
         // When
-        clientService.deleteById(1L);
+        clientService.deleteById(1L, null);
 
         // Then
-        verify(clientRepository).existsById(1L);
-        verify(clientRepository).deleteById(1L);
+        verify(clientRepository).delete(savedClient);
+        verify(clientRepository, never()).findVersionById(anyLong());
+        verify(clientCacheEvictor).evict(1L, "123456789");
+
+        ArgumentCaptor<ClientChangeEvent> event = ArgumentCaptor.forClass(ClientChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().action()).isEqualTo(ClientChangeEvent.Action.DELETED);
+        assertThat(event.getValue().clientId()).isEqualTo(1L);
+        assertThat(event.getValue().taxIdentifier()).isEqualTo("123456789");
+    }
+
+    @Test
+    void deleteById_ThrowsClientVersionMismatchException_WhenIfMatchIsStale() {
+        // Given
+        savedClient.setVersion(3L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(savedClient));
+
+        // When & Then
+        assertThatThrownBy(() -> clientService.deleteById(1L, 2L))
+                .isInstanceOf(ClientVersionMismatchException.class);
+
+        verify(clientRepository, never()).delete(any(Client.class));
     }
 
     @Test
     void deleteById_ThrowsClientNotFoundException() {
         // Given
-        when(clientRepository.existsById(999L)).thenReturn(false);
+        when(clientRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> clientService.deleteById(999L))
+        assertThatThrownBy(() -> clientService.deleteById(999L, null))
                 .isInstanceOf(ClientNotFoundException.class)
                 .hasMessage("Client with id 999 not found");
 
-        verify(clientRepository).existsById(999L);
-        verify(clientRepository, never()).deleteById(999L);
+        verify(clientRepository, never()).delete(any(Client.class));
+        verifyNoInteractions(clientCacheEvictor, eventPublisher);
     }
 }
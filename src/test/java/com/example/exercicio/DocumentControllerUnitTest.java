@@ -0,0 +1,89 @@
+package com.example.exercicio;
+
+import com.example.exercicio.controller.ClientController;
+import com.example.exercicio.controller.DocumentController;
+import com.example.exercicio.dto.ExpiringDocumentDTO;
+import com.example.exercicio.dto.ExpiringDocumentPageDTO;
+import com.example.exercicio.dto.ExpiryDigestDTO;
+import com.example.exercicio.service.DocumentExpiryDigestJob;
+import com.example.exercicio.service.DocumentExpiryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentControllerUnitTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private DocumentExpiryService documentExpiryService;
+
+    @Mock
+    private DocumentExpiryDigestJob documentExpiryDigestJob;
+
+    @InjectMocks
+    private DocumentController documentController;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(documentController).build();
+    }
+
+    @Test
+    void getExpiringDocuments_Success() throws Exception {
+        ExpiringDocumentDTO document = new ExpiringDocumentDTO(1L, 10L, "passport", "P1", "Passport", LocalDate.of(2026, 3, 4));
+        when(documentExpiryService.findExpiring(Period.ofDays(7), null, 50))
+                .thenReturn(new ExpiringDocumentPageDTO(List.of(document), "2026-03-04:10"));
+
+        mockMvc.perform(get("/documents/expiring").param("within", "P7D"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ClientController.NEXT_CURSOR_HEADER, "2026-03-04:10"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].clientId").value(1));
+    }
+
+    @Test
+    void getExpiringDocuments_RejectsInvalidPeriod() throws Exception {
+        mockMvc.perform(get("/documents/expiring").param("within", "30 days"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/documents/expiring").param("within", "-P1D"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(documentExpiryService);
+    }
+
+    @Test
+    void getExpiryDigest_NotFoundBeforeFirstRun() throws Exception {
+        when(documentExpiryDigestJob.latest()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/documents/expiring/digest"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getExpiryDigest_ReturnsLatest() throws Exception {
+        ExpiryDigestDTO digest = new ExpiryDigestDTO();
+        digest.setDocuments(3);
+        when(documentExpiryDigestJob.latest()).thenReturn(Optional.of(digest));
+
+        mockMvc.perform(get("/documents/expiring/digest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents").value(3));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.exercicio;
+
+import com.example.exercicio.dto.ExpiringDocumentPageDTO;
+import com.example.exercicio.dto.ExpiryDigestDTO;
+import com.example.exercicio.repository.DocumentRepository;
+import com.example.exercicio.repository.DocumentRow;
+import com.example.exercicio.service.DocumentExpiryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentExpiryServiceUnitTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    private DocumentExpiryService documentExpiryService;
+
+    @BeforeEach
+    void setup() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        documentExpiryService = new DocumentExpiryService(documentRepository, clock);
+    }
+
+    private static DocumentRow row(long clientId, long id, String type, LocalDate expirationDate) {
+        return new DocumentRow(clientId, id, type, "N" + id, "Document " + id, expirationDate);
+    }
+
+    @Test
+    void findExpiring_FirstPageStartsToday() {
+        // Given
+        List<DocumentRow> rows = List.of(row(1L, 10L, "passport", TODAY), row(2L, 11L, "passport", TODAY.plusDays(3)),
+                row(2L, 12L, "id-card", TODAY.plusDays(5)));
+        when(documentRepository.findExpiringAfter(TODAY.minusDays(1), Long.MAX_VALUE, TODAY.plusDays(30), Limit.of(3)))
+                .thenReturn(rows);
+
+        // When
+        ExpiringDocumentPageDTO page = documentExpiryService.findExpiring(Period.ofDays(30), null, 2);
+
+        // Then
+        assertThat(page.getContent()).extracting("id").containsExactly(10L, 11L);
+        assertThat(page.getContent().get(1).getClientId()).isEqualTo(2L);
+        assertThat(page.getNextCursor()).isEqualTo("2026-03-04:11");
+    }
+
+    @Test
+    void findExpiring_ContinuesAfterCursor() {
+        // Given
+        when(documentRepository.findExpiringAfter(TODAY.plusDays(3), 11L, TODAY.plusDays(30), Limit.of(3)))
+                .thenReturn(List.of(row(2L, 12L, "id-card", TODAY.plusDays(5))));
+
+        // When
+        ExpiringDocumentPageDTO page = documentExpiryService.findExpiring(Period.ofDays(30), "2026-03-04:11", 2);
+
+        // Then
+        assertThat(page.getContent()).extracting("id").containsExactly(12L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findExpiring_RejectsMalformedCursor() {
+        assertThatThrownBy(() -> documentExpiryService.findExpiring(Period.ofDays(30), "yesterday", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    void buildDigest_ScansInChunksUntilAShortOne() {
+        // Given
+        LocalDate until = TODAY.plusDays(30);
+        when(documentRepository.findExpiringAfter(TODAY.minusDays(1), Long.MAX_VALUE, until, Limit.of(2)))
+                .thenReturn(List.of(row(1L, 10L, "passport", TODAY), row(2L, 11L, "passport", TODAY.plusDays(3))));
+        when(documentRepository.findExpiringAfter(TODAY.plusDays(3), 11L, until, Limit.of(2)))
+                .thenReturn(List.of(row(2L, 12L, "id-card", TODAY.plusDays(5))));
+
+        // When
+        ExpiryDigestDTO digest = documentExpiryService.buildDigest(Period.ofDays(30), 2);
+
+        // Then
+        assertThat(digest.getDate()).isEqualTo(TODAY);
+        assertThat(digest.getUntil()).isEqualTo(until);
+        assertThat(digest.getDocuments()).isEqualTo(3);
+        assertThat(digest.getClients()).isEqualTo(2);
+        assertThat(digest.getDocumentsByType()).containsEntry("passport", 2L).containsEntry("id-card", 1L);
+        verify(documentRepository, times(2)).findExpiringAfter(any(), any(), any(), any());
+    }
+}
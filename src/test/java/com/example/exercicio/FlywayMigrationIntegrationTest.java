@@ -0,0 +1,47 @@
+package com.example.exercicio;
+
+import com.example.exercicio.model.Client;
+import com.example.exercicio.model.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the prod profile's schema source: context startup fails if the migrations do not match the entity mappings
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+public class FlywayMigrationIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchema_StoresClientsWithDocuments() {
+        Client client = new Client("John", "Doe", "123456789", "john.doe@email.com", "+1234567890");
+        client.addDocument(new Document("passport", "P123456", "Valid passport", LocalDate.now().plusYears(5), client));
+        Long id = entityManager.persistAndFlush(client).getId();
+        entityManager.clear();
+
+        Client found = entityManager.find(Client.class, id);
+        assertThat(found.getDocuments()).hasSize(1);
+        assertThat(found.getVersion()).isZero();
+    }
+
+    @Test
+    void migratedSchema_CreatesQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where lower(table_name) in ('clients', 'documents')", String.class);
+
+        assertThat(indexes).contains(
+                "idx_clients_last_name_id", "idx_clients_first_name_id", "idx_clients_email",
+                "idx_documents_client_type_expiration", "idx_documents_expiration_date");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.exercicio;
+
+import com.example.exercicio.config.JsonConfig;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.dto.DocumentDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonConfigUnitTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void defaultMapper_KeepsNullsAndEmptyDocuments() {
+        ClientDTO client = new ClientDTO(1L, "John", "Doe", "123", null, "", new ArrayList<>());
+
+        JsonNode json = mapper.valueToTree(client);
+
+        assertThat(json.has("email")).isTrue();
+        assertThat(json.get("documents").isArray()).isTrue();
+        assertThat(json.has("version")).isFalse();
+    }
+
+    @Test
+    void omitEmpty_LeavesOutNullsEmptyStringsAndEmptyDocuments() {
+        JsonConfig.omitEmptyClientFields(mapper);
+        ClientDTO client = new ClientDTO(1L, "John", "Doe", "123", null, "", new ArrayList<>());
+
+        JsonNode json = mapper.valueToTree(client);
+
+        assertThat(json.has("email")).isFalse();
+        assertThat(json.has("phoneNumber")).isFalse();
+        assertThat(json.has("documents")).isFalse();
+        assertThat(json.get("firstName").asText()).isEqualTo("John");
+    }
+
+    @Test
+    void omitEmpty_AppliesToNestedDocuments() {
+        JsonConfig.omitEmptyClientFields(mapper);
+        DocumentDTO document = new DocumentDTO(1L, "passport", "P1", null, LocalDate.of(2030, 1, 1));
+        ClientDTO client = new ClientDTO(1L, "John", "Doe", "123", "john@email.com", "+351", List.of(document));
+
+        JsonNode json = mapper.valueToTree(client);
+
+        assertThat(json.get("documents").get(0).has("description")).isFalse();
+        assertThat(json.get("documents").get(0).get("number").asText()).isEqualTo("P1");
+    }
+}
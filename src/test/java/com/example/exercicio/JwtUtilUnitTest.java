@@ -0,0 +1,74 @@
+package com.example.exercicio;
+
+import com.example.exercicio.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtUtilUnitTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil("testSecret", 60000, 100);
+
+    @Test
+    void parseClaims_ReturnsSubjectOfValidToken() {
+        String token = jwtUtil.generateToken("user");
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void generateToken_EmbedsAuthoritiesAsRolesClaim() {
+        String token = jwtUtil.generateToken("admin", AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertThat(jwtUtil.getAuthorities(claims)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void getAuthorities_IsEmptyForTokenWithoutRoles() {
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken("user"));
+
+        assertThat(jwtUtil.getAuthorities(claims)).isEmpty();
+    }
+
+    @Test
+    void parseClaims_ReturnsCachedClaimsForSameToken() {
+        String token = jwtUtil.generateToken("user");
+
+        assertThat(jwtUtil.parseClaims(token)).isSameAs(jwtUtil.parseClaims(token));
+    }
+
+    @Test
+    void parseClaims_ReturnsNullForTamperedOrMalformedToken() {
+        String[] userToken = jwtUtil.generateToken("user").split("\\.");
+        String[] adminToken = jwtUtil.generateToken("admin").split("\\.");
+        // admin payload with the signature of the user token
+        String tampered = userToken[0] + "." + adminToken[1] + "." + userToken[2];
+
+        assertThat(jwtUtil.parseClaims(tampered)).isNull();
+        assertThat(jwtUtil.parseClaims("not-a-token")).isNull();
+        assertThat(jwtUtil.validateToken("not-a-token")).isFalse();
+    }
+
+    @Test
+    void parseClaims_ReturnsNullForTokenSignedWithOtherKey() {
+        String foreignToken = new JwtUtil("otherSecret", 60000, 100).generateToken("user");
+
+        assertThat(jwtUtil.parseClaims(foreignToken)).isNull();
+    }
+
+    @Test
+    void parseClaims_ReturnsNullForExpiredToken() {
+        String expired = new JwtUtil("testSecret", -1000, 100).generateToken("user");
+
+        assertThat(jwtUtil.parseClaims(expired)).isNull();
+        assertThat(jwtUtil.getUsernameFromToken(expired)).isEqualTo("user");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.exercicio;
+
+import com.example.exercicio.security.LoadSheddingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadSheddingFilterUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+
+    private MockHttpServletResponse perform(LoadSheddingFilter filter, String uri, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return response;
+    }
+
+    @Test
+    void doFilter_ShedsRequestsAboveMaxInFlight() throws Exception {
+        LoadSheddingFilter filter = new LoadSheddingFilter(1, 10, pendingConnections::get, 2, registry);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        // the request in the chain holds the only slot while a second one arrives
+        MockHttpServletResponse outer = perform(filter, "/clients",
+                (request, response) -> nested[0] = perform(filter, "/clients", new MockFilterChain()));
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(registry.get("http.server.shed").tag("reason", "in_flight").counter().count()).isEqualTo(1);
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void doFilter_ShedsRequests_WhenThreadsWaitForConnections() throws Exception {
+        LoadSheddingFilter filter = new LoadSheddingFilter(100, 10, pendingConnections::get, 1, registry);
+        pendingConnections.set(11);
+
+        MockHttpServletResponse response = perform(filter, "/clients", new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(registry.get("http.server.shed").tag("reason", "pending_connections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_NeverShedsActuator() throws Exception {
+        LoadSheddingFilter filter = new LoadSheddingFilter(0, 10, pendingConnections::get, 1, registry);
+
+        MockHttpServletResponse response = perform(filter, "/actuator/health", new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_KeepsAsyncRequestInFlightUntilCompleted() throws Exception {
+        LoadSheddingFilter filter = new LoadSheddingFilter(1, 10, pendingConnections::get, 1, registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clients/stream");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isEqualTo(1);
+        assertThat(perform(filter, "/clients", new MockFilterChain()).getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isZero();
+        assertThat(perform(filter, "/clients", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.exercicio;
+
+import com.example.exercicio.config.QueryOrigin;
+import com.example.exercicio.config.QueryOriginAspect;
+import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.repository.DocumentRepository;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryOriginAspectUnitTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @Mock
+    private ClientMetrics clientMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ClientService target;
+
+    private ClientService clientService;
+
+    @BeforeEach
+    void setup() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new QueryOriginAspect());
+        clientService = factory.getProxy();
+    }
+
+    @Test
+    void serviceMethod_IsTheQueryOriginWhileItRuns() {
+        // Given
+        AtomicReference<String> origin = new AtomicReference<>();
+        when(clientRepository.findVersionById(1L)).thenAnswer(invocation -> {
+            origin.set(MDC.get(QueryOrigin.MDC_KEY));
+            return Optional.of(3L);
+        });
+
+        // When
+        Long version = clientService.findVersion(1L);
+
+        // Then
+        assertThat(version).isEqualTo(3L);
+        assertThat(origin.get()).isEqualTo("ClientService.findVersion");
+        assertThat(MDC.get(QueryOrigin.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void nestedServiceCall_KeepsTheCallersOrigin() {
+        // Given
+        AtomicReference<String> origin = new AtomicReference<>();
+        when(clientRepository.findVersionById(1L)).thenAnswer(invocation -> {
+            origin.set(MDC.get(QueryOrigin.MDC_KEY));
+            return Optional.of(3L);
+        });
+        MDC.put(QueryOrigin.MDC_KEY, "ClientImportService.importClients");
+
+        // When
+        try {
+            clientService.findVersion(1L);
+        } finally {
+            MDC.remove(QueryOrigin.MDC_KEY);
+        }
+
+        // Then
+        assertThat(origin.get()).isEqualTo("ClientImportService.importClients");
+    }
+}
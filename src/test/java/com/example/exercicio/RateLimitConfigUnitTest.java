@@ -0,0 +1,58 @@
+package com.example.exercicio;
+
+import com.example.exercicio.security.RateLimitConfig;
+import com.example.exercicio.security.RateLimiter;
+import com.example.exercicio.security.StripedTokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitConfigUnitTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Configuration
+    static class SharedRateLimiterConfig {
+
+        @Bean
+        RateLimiter sharedRateLimiter() {
+            return (key, limit) -> RateLimiter.Decision.ALLOWED;
+        }
+    }
+
+    @Test
+    void memoryBackend_IsTheDefault() {
+        contextRunner.withUserConfiguration(RateLimitConfig.class)
+                .run(context -> assertThat(context).getBean(RateLimiter.class).isInstanceOf(StripedTokenBucketRateLimiter.class));
+    }
+
+    @Test
+    void applicationRateLimiter_ReplacesTheInMemoryOne() {
+        contextRunner.withUserConfiguration(SharedRateLimiterConfig.class, RateLimitConfig.class)
+                .withPropertyValues("rate-limit.backend=redis")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RateLimiter.class);
+                    assertThat(context).getBean(RateLimiter.class).isNotInstanceOf(StripedTokenBucketRateLimiter.class);
+                });
+    }
+
+    @Test
+    void applicationRateLimiter_WinsOverMemoryBackend() {
+        contextRunner.withUserConfiguration(SharedRateLimiterConfig.class, RateLimitConfig.class)
+                .run(context -> assertThat(context).hasSingleBean(RateLimiter.class));
+    }
+
+    @Test
+    void otherBackend_FailsStartup_WithoutARateLimiterBean() {
+        contextRunner.withUserConfiguration(RateLimitConfig.class)
+                .withPropertyValues("rate-limit.backend=redis")
+                .run(context -> assertThat(context).hasFailed().getFailure()
+                        .rootCause().hasMessageContaining("no RateLimiter bean is defined"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.exercicio;
+
+import com.example.exercicio.security.RateLimitInterceptor;
+import com.example.exercicio.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorUnitTest {
+
+    private static final RateLimiter.Limit DEFAULT = new RateLimiter.Limit(50, 20);
+    private static final RateLimiter.Limit EXPENSIVE = new RateLimiter.Limit(10, 2);
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setup() {
+        interceptor = new RateLimitInterceptor(rateLimiter, DEFAULT, Map.of("GET /clients", EXPENSIVE), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    @Test
+    void preHandle_KeysByJwtSubjectAndRoutePattern() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        when(rateLimiter.tryAcquire("user:user GET /clients/{id}", DEFAULT)).thenReturn(RateLimiter.Decision.ALLOWED);
+
+        boolean allowed = interceptor.preHandle(request("GET", "/clients/42", "/clients/{id}"), new MockHttpServletResponse(), new Object());
+
+        assertThat(allowed).isTrue();
+    }
+
+    @Test
+    void preHandle_UsesEndpointLimitAndClientAddress_BeforeLogin() {
+        when(rateLimiter.tryAcquire("ip:10.0.0.1 GET /clients", EXPENSIVE)).thenReturn(new RateLimiter.Decision(false, 3));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean allowed = interceptor.preHandle(request("GET", "/clients", "/clients"), response, new Object());
+
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+    }
+
+    @Test
+    void preHandle_DoesNotChargeAsyncRedispatch() {
+        MockHttpServletRequest request = request("GET", "/clients/stream", "/clients/stream");
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        boolean allowed = interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(allowed).isTrue();
+        verifyNoInteractions(rateLimiter);
+    }
+}
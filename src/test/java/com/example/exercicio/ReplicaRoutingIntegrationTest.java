@@ -0,0 +1,197 @@
+package com.example.exercicio;
+
+import com.example.exercicio.config.CacheConfig;
+import com.example.exercicio.config.ReplicaAwareTransactionManager;
+import com.example.exercicio.config.ReplicaRoutingConfig;
+import com.example.exercicio.config.ReplicationLagMonitor;
+import com.example.exercicio.dto.ClientDTO;
+import com.example.exercicio.model.Client;
+import com.example.exercicio.repository.ClientRepository;
+import com.example.exercicio.service.ClientCacheEvictor;
+import com.example.exercicio.service.ClientMetrics;
+import com.example.exercicio.service.ClientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two in-memory H2 databases stand in for the primary and a replica; replication is simulated by copying rows by hand,
+// so a replica row with a different first name is a change that has not been replicated yet
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "datasource.replicas.max-lag=PT5S",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReplicaRoutingConfig.class, ClientService.class, ReplicaRoutingIntegrationTest.Config.class})
+public class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Clock clock() {
+            return Clock.fixed(NOW, ZoneOffset.UTC);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.CLIENTS_BY_ID, CacheConfig.CLIENTS_BY_TAX_IDENTIFIER);
+        }
+    }
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ReplicationLagMonitor replicationLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ClientCacheEvictor clientCacheEvictor;
+
+    @MockitoBean
+    private ClientMetrics clientMetrics;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private Statistics statistics;
+    private Client client;
+
+    @BeforeEach
+    void setup() {
+        replica.execute("drop all objects");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__initial_schema.sql")).execute(replica.getDataSource());
+
+        client = new TransactionTemplate(transactionManager).execute(status ->
+                clientRepository.save(new Client("Fresh", "Doe", "RR-1", "john.doe@email.com", "+1234567890")));
+        replica.update("insert into clients (id, first_name, last_name, tax_identifier, email, phone_number, version) values (?, ?, ?, ?, ?, ?, ?)",
+                client.getId(), "Stale", "Doe", "RR-1", "john.doe@email.com", "+1234567890", client.getVersion());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> clientRepository.deleteAll());
+    }
+
+    private void replicaHeartbeat(Instant beat) {
+        replica.update("merge into replication_heartbeat key (id) values (1, ?)", Timestamp.from(beat));
+        replicationLagMonitor.beat();
+    }
+
+    @Test
+    void transactionManager_IsTheReplicaAwareJpaTransactionManager() {
+        assertThat(transactionManager).isInstanceOf(ReplicaAwareTransactionManager.class);
+    }
+
+    @Test
+    void readOnlyTransactions_UseReplica_WhenItIsFresh() {
+        replicaHeartbeat(NOW.minusSeconds(1));
+
+        assertThat(clientService.findPage(null, 10, false).getContent())
+                .extracting("firstName").containsExactly("Stale");
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cachedReads_UseReplica_WithoutFillingTheCache() {
+        replicaHeartbeat(NOW);
+
+        assertThat(clientService.findById(client.getId()).getFirstName()).isEqualTo("Stale");
+        assertThat(clientService.findByTaxIdentifier("RR-1").getFirstName()).isEqualTo("Stale");
+        assertThat(clientService.findVersion(client.getId())).isEqualTo(client.getVersion());
+        assertThat(cacheManager.getCache(CacheConfig.CLIENTS_BY_ID).get(client.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CLIENTS_BY_TAX_IDENTIFIER).get("RR-1")).isNull();
+    }
+
+    @Test
+    void cachedReads_FillTheCache_WhenServedByPrimary() {
+        replicaHeartbeat(NOW.minusSeconds(60));
+
+        assertThat(clientService.findById(client.getId()).getFirstName()).isEqualTo("Fresh");
+        assertThat(cacheManager.getCache(CacheConfig.CLIENTS_BY_ID).get(client.getId(), ClientDTO.class))
+                .extracting(ClientDTO::getFirstName).isEqualTo("Fresh");
+    }
+
+    @Test
+    void replicaReads_DoNotFillSecondLevelCache() {
+        replicaHeartbeat(NOW);
+
+        assertThat(clientService.findAll()).extracting("firstName").containsExactly("Stale");
+        assertThat(statistics.getDomainDataRegionStatistics("clients").getPutCount()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertThat(clientRepository.findById(client.getId())).get().extracting(Client::getFirstName).isEqualTo("Fresh"));
+        assertThat(statistics.getDomainDataRegionStatistics("clients").getPutCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyTransactions_FallBackToPrimary_WhenReplicaLags() {
+        replicaHeartbeat(NOW.minusSeconds(60));
+
+        assertThat(clientService.findPage(null, 10, false).getContent())
+                .extracting("firstName").containsExactly("Fresh");
+        assertThat(meterRegistry.get("datasource.replica.fresh").gauge().value()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isPositive();
+    }
+}
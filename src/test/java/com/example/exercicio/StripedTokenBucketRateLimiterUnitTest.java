@@ -0,0 +1,59 @@
+package com.example.exercicio;
+
+import com.example.exercicio.security.RateLimiter;
+import com.example.exercicio.security.StripedTokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedTokenBucketRateLimiterUnitTest {
+
+    private static final RateLimiter.Limit LIMIT = new RateLimiter.Limit(3, 1);
+
+    private final AtomicLong now = new AtomicLong();
+    private StripedTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        rateLimiter = new StripedTokenBucketRateLimiter(1000, Duration.ofMinutes(10), now::get);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacity_ThenRejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("user:a GET /clients", LIMIT).allowed()).isTrue();
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("user:a GET /clients", LIMIT);
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user:a GET /clients", LIMIT);
+        }
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThat(rateLimiter.tryAcquire("user:a GET /clients", LIMIT).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("user:a GET /clients", LIMIT).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("user:a GET /clients", LIMIT).allowed()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_KeepsSeparateBucketsPerKey() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user:a GET /clients", LIMIT);
+        }
+
+        assertThat(rateLimiter.tryAcquire("user:b GET /clients", LIMIT).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("user:a GET /clients/{id}", LIMIT).allowed()).isTrue();
+    }
+}
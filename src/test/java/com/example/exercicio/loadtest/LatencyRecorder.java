@@ -0,0 +1,70 @@
+package com.example.exercicio.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps every latency sample of one endpoint; percentiles are exact and computed once at the end of a run.
+ * Guarded by a lock rather than {@code synchronized} so the recording virtual threads never pin their carrier.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    void record(long latencyNanos, boolean ok) {
+        lock.lock();
+        try {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            count = 0;
+            errors = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Snapshot snapshot() {
+        long[] copy;
+        long errorCount;
+        lock.lock();
+        try {
+            copy = Arrays.copyOf(samples, count);
+            errorCount = errors;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(copy);
+        return new Snapshot(copy, errorCount);
+    }
+
+    record Snapshot(long[] sorted, long errors) {
+
+        int count() {
+            return sorted.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
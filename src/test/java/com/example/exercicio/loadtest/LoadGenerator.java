@@ -0,0 +1,303 @@
+package com.example.exercicio.loadtest;
+
+import com.example.exercicio.ExercicioApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on a random port against the in-memory H2 database, logs in through /login
+ * and replays a weighted mix of /clients operations at a fixed arrival rate, one virtual thread per request.
+ * <p>
+ * Run with {@code ./mvnw -P loadtest test-compile exec:java}. System properties: {@code loadtest.rate}
+ * (requests per second), {@code loadtest.durationSeconds}, {@code loadtest.warmupSeconds},
+ * {@code loadtest.seedClients} and {@code loadtest.mix} (classpath resource with one
+ * {@code {"operation": ..., "weight": ...}} per line). The report is printed and written to
+ * {@code target/loadtest-result.json} so runs of different builds can be compared.
+ */
+public final class LoadGenerator {
+
+    private static final String[] OPERATIONS = {"list", "get", "create", "update", "delete"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final String[] mixOperations;
+    private final int[] cumulativeWeights;
+
+    private final List<SeededClient> seededClients = new ArrayList<>();
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private String token;
+
+    private record SeededClient(long id, String taxIdentifier) {
+    }
+
+    private LoadGenerator(URI baseUri, Map<String, Integer> mix, ExecutorService executor) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(5)).build();
+        this.mixOperations = mix.keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[mixOperations.length];
+        int total = 0;
+        for (int i = 0; i < mixOperations.length; i++) {
+            total += mix.get(mixOperations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (String operation : OPERATIONS) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30L));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10L));
+        int seedClients = Integer.getInteger("loadtest.seedClients", 1000);
+        Map<String, Integer> mix = loadMix(System.getProperty("loadtest.mix", "loadtest/traffic-mix.jsonl"));
+
+        try (ConfigurableApplicationContext app = SpringApplication.run(ExercicioApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false",
+                // all traffic comes from one user; load shedding stays on and its 503s count as errors
+                "--rate-limit.enabled=false");
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), mix, executor);
+            generator.login();
+            generator.seed(seedClients);
+
+            generator.run(executor, rate, warmup);
+            generator.recorders.values().forEach(LatencyRecorder::reset);
+            long start = System.nanoTime();
+            generator.run(executor, rate, duration);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            generator.report(rate, seconds);
+        }
+    }
+
+    private static Map<String, Integer> loadMix(String resource) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        try (InputStream in = LoadGenerator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Traffic mix not found on the classpath: " + resource);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode entry = mapper.readTree(line);
+                String operation = entry.get("operation").asText();
+                if (!List.of(OPERATIONS).contains(operation)) {
+                    throw new IllegalArgumentException("Unknown operation in traffic mix: " + operation);
+                }
+                mix.put(operation, entry.get("weight").asInt());
+            }
+        }
+        return mix;
+    }
+
+    private void login() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"password\"}"))
+                .build(), false);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        token = mapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void seed(int count) throws IOException, InterruptedException {
+        ArrayNode clients = mapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            clients.add(newClient());
+        }
+        HttpResponse<String> response = send(authorized("/clients/bulk")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(clients)))
+                .build(), false);
+        for (JsonNode row : mapper.readTree(response.body()).get("rows")) {
+            if ("CREATED".equals(row.get("status").asText())) {
+                seededClients.add(new SeededClient(row.get("id").asLong(), row.get("taxIdentifier").asText()));
+            }
+        }
+        if (seededClients.isEmpty()) {
+            throw new IllegalStateException("Seeding created no clients, status " + response.statusCode());
+        }
+    }
+
+    private void run(ExecutorService executor, double rate, Duration duration) {
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+        while (next < end) {
+            LockSupport.parkNanos(next - System.nanoTime());
+            long scheduled = next;
+            String operation = pickOperation();
+            executor.submit(() -> execute(operation, scheduled));
+            next += intervalNanos;
+        }
+        // let in-flight requests of this phase finish before the recorders are read or reset
+        LockSupport.parkNanos(Duration.ofSeconds(2).toNanos());
+    }
+
+    private String pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return mixOperations[i];
+            }
+        }
+        return mixOperations[mixOperations.length - 1];
+    }
+
+    private void execute(String operation, long scheduledNanos) {
+        // only clients created during the run are deleted, so the seeded set stays valid for get/update;
+        // while none is left the delete creates one instead, and is recorded as the create it was
+        Long deleteId = "delete".equals(operation) ? createdIds.poll() : null;
+        if ("delete".equals(operation) && deleteId == null) {
+            operation = "create";
+        }
+        boolean ok;
+        try {
+            ok = switch (operation) {
+                case "list" -> isSuccess(send(authorized("/clients?size=50").GET().build(), true));
+                case "get" -> isSuccess(send(authorized("/clients/" + randomSeeded().id()).GET().build(), true));
+                case "create" -> create();
+                case "update" -> update();
+                case "delete" -> delete(deleteId);
+                default -> throw new IllegalArgumentException(operation);
+            };
+        } catch (Exception e) {
+            ok = false;
+        }
+        // measured from the scheduled start, so queueing delay is not hidden (coordinated omission)
+        recorders.get(operation).record(System.nanoTime() - scheduledNanos, ok);
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(authorized("/clients")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(newClient())))
+                .build(), true);
+        if (response.statusCode() == 201) {
+            createdIds.add(mapper.readTree(response.body()).get("id").asLong());
+        }
+        return isSuccess(response);
+    }
+
+    private boolean update() throws IOException, InterruptedException {
+        SeededClient client = randomSeeded();
+        ObjectNode body = newClient().put("taxIdentifier", client.taxIdentifier()).put("email", "updated@email.com");
+        return isSuccess(send(authorized("/clients/" + client.id())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .build(), true));
+    }
+
+    private boolean delete(long id) throws IOException, InterruptedException {
+        return isSuccess(send(authorized("/clients/" + id).DELETE().build(), true));
+    }
+
+    private SeededClient randomSeeded() {
+        return seededClients.get(ThreadLocalRandom.current().nextInt(seededClients.size()));
+    }
+
+    private ObjectNode newClient() {
+        long n = sequence.incrementAndGet();
+        ObjectNode client = mapper.createObjectNode()
+                .put("firstName", "Load" + n)
+                .put("lastName", "Test")
+                .put("taxIdentifier", "LT-" + runId + "-" + n)
+                .put("email", "load" + n + "@email.com")
+                .put("phoneNumber", "+351900000000");
+        client.putArray("documents").addObject()
+                .put("type", "passport")
+                .put("number", "P" + n)
+                .put("description", "Load test passport")
+                .put("expirationDate", "2030-01-01");
+        return client;
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request, boolean discardErrors) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (!discardErrors && !isSuccess(response)) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed with status " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private void report(double targetRate, double seconds) throws IOException {
+        ObjectNode result = mapper.createObjectNode()
+                .put("targetRate", targetRate)
+                .put("durationSeconds", seconds);
+        ObjectNode operations = result.putObject("operations");
+
+        System.out.printf("%n%-8s %9s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            double throughput = snapshot.count() / seconds;
+            System.out.printf("%-8s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(), snapshot.count(), snapshot.errors(),
+                    throughput, snapshot.percentileMillis(0.50), snapshot.percentileMillis(0.99),
+                    snapshot.percentileMillis(0.999), snapshot.percentileMillis(1.0));
+            operations.putObject(entry.getKey())
+                    .put("requests", snapshot.count())
+                    .put("errors", snapshot.errors())
+                    .put("throughput", throughput)
+                    .put("p50Ms", snapshot.percentileMillis(0.50))
+                    .put("p99Ms", snapshot.percentileMillis(0.99))
+                    .put("p999Ms", snapshot.percentileMillis(0.999))
+                    .put("maxMs", snapshot.percentileMillis(1.0));
+        }
+
+        Path output = Path.of("target", "loadtest-result.json");
+        Files.createDirectories(output.getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+        System.out.println("\nResults written to " + output.toAbsolutePath());
+    }
+}